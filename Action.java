@@ -0,0 +1,119 @@
+/**
+ * One typed player decision, for programs that drive a GameManager
+ * without going through console text:
+ *
+ *   move(roomId)               – Board.getRoom(int) id of an adjacent room
+ *   work(slot)                 – role slot at the current set (Set.getRoleAt)
+ *   ACT · REHEARSE · END
+ *   upgrade(level, currency)   – currency CastingOffice.DOLLAR or CREDIT
+ *
+ * GameManager.perform() carries an action out and returns its
+ * CommandResult; GameManager.legalActions() lists the actions the active
+ * player may take.  Actions are immutable values and the common ones are
+ * interned (every room id, role slot and upgrade a board can have), so
+ * listing and playing actions allocates nothing.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public final class Action {
+
+    /** What an action does; its arguments depend on the kind. */
+    public enum Kind { MOVE, WORK, ACT, REHEARSE, UPGRADE, END }
+
+    public static final Action ACT      = new Action(Kind.ACT,      0, 0);
+    public static final Action REHEARSE = new Action(Kind.REHEARSE, 0, 0);
+    public static final Action END      = new Action(Kind.END,      0, 0);
+
+    // Interned instances: room ids and role slots fit a long / int mask,
+    // upgrades cover levels 0 … 15 in both currencies
+    private static final Action[] MOVES    = new Action[Long.SIZE];
+    private static final Action[] WORKS    = new Action[Integer.SIZE];
+    private static final Action[] UPGRADES = new Action[32];
+    static {
+        for (int i = 0; i < MOVES.length;    i++) MOVES[i]    = new Action(Kind.MOVE,    i, 0);
+        for (int i = 0; i < WORKS.length;    i++) WORKS[i]    = new Action(Kind.WORK,    i, 0);
+        for (int i = 0; i < UPGRADES.length; i++) UPGRADES[i] = new Action(Kind.UPGRADE, i >> 1, i & 1);
+    }
+
+    private final Kind kind;
+    private final int  arg;        // room id, role slot or level
+    private final int  currency;   // UPGRADE only
+
+    private Action(Kind kind, int arg, int currency) {
+        this.kind     = kind;
+        this.arg      = arg;
+        this.currency = currency;
+    }
+
+    // ── Factories ─────────────────────────────────────────────────────────────
+
+    /** @param roomId Destination room id (Room.getId) */
+    public static Action move(int roomId) {
+        return roomId >= 0 && roomId < MOVES.length ? MOVES[roomId]
+                                                    : new Action(Kind.MOVE, roomId, 0);
+    }
+
+    /** @param slot Role slot at the player's set (Set.getRoleAt) */
+    public static Action work(int slot) {
+        return slot >= 0 && slot < WORKS.length ? WORKS[slot]
+                                                : new Action(Kind.WORK, slot, 0);
+    }
+
+    /**
+     * @param level    Target rank
+     * @param currency CastingOffice.DOLLAR or CastingOffice.CREDIT
+     */
+    public static Action upgrade(int level, int currency) {
+        if (currency != CastingOffice.DOLLAR && currency != CastingOffice.CREDIT) {
+            throw new IllegalArgumentException("Unknown currency index " + currency);
+        }
+        int i = level << 1 | currency;
+        return level >= 0 && i < UPGRADES.length ? UPGRADES[i]
+                                                 : new Action(Kind.UPGRADE, level, currency);
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public Kind getKind()    { return kind; }
+
+    /** @return the room id of a MOVE */
+    public int getRoomId()   { return arg;  }
+
+    /** @return the role slot of a WORK */
+    public int getSlot()     { return arg;  }
+
+    /** @return the target rank of an UPGRADE */
+    public int getLevel()    { return arg;  }
+
+    /** @return CastingOffice.DOLLAR or CREDIT for an UPGRADE */
+    public int getCurrency() { return currency; }
+
+    /** @return "dollar" or "credit" for an UPGRADE, as cmdUpgrade expects */
+    public String getCurrencyName() {
+        return currency == CastingOffice.CREDIT ? "credit" : "dollar";
+    }
+
+    // ── Object ────────────────────────────────────────────────────────────────
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Action)) return false;
+        Action a = (Action) o;
+        return kind == a.kind && arg == a.arg && currency == a.currency;
+    }
+
+    @Override
+    public int hashCode() { return (kind.ordinal() * 31 + arg) * 2 + currency; }
+
+    /** @return a console-like description, rooms and roles by id ("move #3") */
+    @Override
+    public String toString() {
+        switch (kind) {
+            case MOVE:    return "move #" + arg;
+            case WORK:    return "work #" + arg;
+            case UPGRADE: return "upgrade " + arg + " " + getCurrencyName();
+            default:      return kind.name().toLowerCase();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * A computer-controlled player that decides in typed Actions instead of
+ * calling the command methods itself.
+ *
+ * An Agent is a Bot: each turn playTurn() lists the legal actions with
+ * GameManager.legalActions(), asks chooseAction() for one and performs it
+ * with GameManager.perform(), until the agent ends the turn (or its last
+ * action ends the day or the game).  A refused action – which a correct
+ * agent never chooses – ends the turn, so an agent can never stall a game.
+ * Nothing on this path formats or parses text, so agents run at the speed
+ * of the game rules; pair them with NullSink for headless play.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+
+public interface Agent extends Bot {
+
+    /** Decisions after which a turn is ended regardless (safety net) */
+    int MAX_DECISIONS_PER_TURN = 16;
+
+    /**
+     * Picks the active player's next action.
+     * @param gm    Game whose active player this agent controls (read it,
+     *              do not issue commands)
+     * @param legal Actions the player may take now, END last; reused by
+     *              the GameManager, so copy it to keep it
+     * @return One of the legal actions
+     */
+    Action chooseAction(GameManager gm, List<Action> legal);
+
+    @Override
+    default void playTurn(GameManager gm) {
+        int turn = gm.getTurnCount();
+        int day  = gm.getCurrentDay();
+
+        for (int d = 0; d < MAX_DECISIONS_PER_TURN; d++) {
+            CommandResult result = gm.perform(chooseAction(gm, gm.legalActions()));
+            if (gm.isGameOver() || gm.getCurrentDay() != day
+                    || gm.getTurnCount() != turn) {
+                return;                                   // turn (or day / game) over
+            }
+            if (!result.isOk()) break;
+        }
+        gm.cmdEnd();
+    }
+}
@@ -5,38 +5,78 @@
  * Aggregation: Board holds references to Room objects but does not
  * exclusively own them (they are created by XMLParser and registered here).
  *
+ * Registration assigns each room a dense int id in registration order, so
+ * callers can index rooms by id and test adjacency with Room bitmasks.
+ *
+ * Once all neighbors are wired the loader calls buildDistanceTable(), which
+ * precomputes all-pairs shortest-path distances, next-hop rooms and
+ * "rooms within k moves" masks, so path questions are O(1) lookups.
+ *
+ * Sets report when they start or stop shooting, so the number (and mask)
+ * of active sets is kept incrementally and end-of-day checks are one read.
+ *
  * CSCI 345 – Deadwood Assignment 2
  */
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class Board {
 
-    /** All rooms keyed by lower-case name for fast lookup */
+    /** Adjacency masks are longs, so a board holds at most 64 rooms */
+    public static final int MAX_ROOMS = Long.SIZE;
+
+    /** All rooms keyed by name, compared case-insensitively (no lower-casing) */
     private final Map<String, Room> rooms;
 
+    /** All rooms indexed by id */
+    private final List<Room> roomsById;
+
+    /** All-pairs tables (n = roomCount), filled by buildDistanceTable() */
+    private int[]  distance;    // [from * n + to] moves, -1 if unreachable
+    private int[]  nextHop;     // [from * n + to] first room id on a path, -1 if none
+    private long[] within;      // [from * (diameter+1) + k] ids within k moves
+    private long   setMask;     // bit i ⇔ room i is a Set
+    private int    diameter;
+
+    /** Sets with an active, non-wrapped scene (see Set.isWrapped) */
+    private long   activeSetMask;   // bit i ⇔ getSets().get(i) is active
+    private int    activeSets;
+
     /** Convenience lists for each room sub-type */
     private final List<Set>  sets;
     private Trailer      trailer;
     private CastingOffice office;
 
     public Board() {
-        rooms = new HashMap<>();
-        sets  = new ArrayList<>();
+        rooms     = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        roomsById = new ArrayList<>();
+        sets      = new ArrayList<>();
     }
 
     // ── Room registration ─────────────────────────────────────────────────────
 
     /**
-     * Registers a room with the board.
+     * Registers a room with the board and assigns its id.
      * Automatically updates the typed convenience references.
      * @param r Room to register
      */
     public void addRoom(Room r) {
-        rooms.put(r.getName().toLowerCase(), r);
-        if      (r instanceof Set)           sets.add((Set) r);
+        if (roomsById.size() == MAX_ROOMS) {
+            throw new IllegalStateException("A board supports at most "
+                + MAX_ROOMS + " rooms");
+        }
+        r.register(this, roomsById.size());
+        roomsById.add(r);
+        rooms.put(r.getName(), r);
+        if (r instanceof Set) {
+            setMask |= 1L << r.getId();
+            ((Set) r).assignSetIndex(sets.size());
+            sets.add((Set) r);
+            if (!((Set) r).isWrapped()) setActivityChanged(sets.size() - 1, true);
+        }
         else if (r instanceof Trailer)       trailer = (Trailer) r;
         else if (r instanceof CastingOffice) office  = (CastingOffice) r;
     }
@@ -49,9 +89,19 @@ public class Board {
      * @return Room or null if no room has that name
      */
     public Room getRoom(String name) {
-        return rooms.get(name.toLowerCase());
+        return rooms.get(name);
     }
 
+    /**
+     * Retrieves a room by id.
+     * @param id Dense room index (0 … roomCount()-1)
+     * @return The room with that id
+     */
+    public Room getRoom(int id) { return roomsById.get(id); }
+
+    /** @return number of registered rooms */
+    public int roomCount() { return roomsById.size(); }
+
     /** @return all filming set rooms */
     public List<Set>   getSets()    { return sets;    }
 
@@ -61,16 +111,139 @@ public class Board {
     /** @return the CastingOffice room */
     public CastingOffice getOffice(){ return office;  }
 
+    // ── Path queries ──────────────────────────────────────────────────────────
+
+    /**
+     * Precomputes the all-pairs distance, next-hop and within-k tables with
+     * one bitmask BFS per room.  Must be called after every neighbor has
+     * been wired (the XML parsers and Catalog do this).
+     */
+    public void buildDistanceTable() {
+        int n = roomsById.size();
+        distance = new int[n * n];
+        nextHop  = new int[n * n];
+        Arrays.fill(distance, -1);
+        Arrays.fill(nextHop,  -1);
+
+        // Rings: rings[from][d] = rooms exactly d moves away
+        long[][] rings = new long[n][n];
+        diameter = 0;
+        for (int from = 0; from < n; from++) {
+            long visited  = 1L << from;
+            long frontier = visited;
+            for (int d = 0; frontier != 0; d++) {
+                rings[from][d] = frontier;
+                for (long f = frontier; f != 0; f &= f - 1) {
+                    distance[from * n + Long.numberOfTrailingZeros(f)] = d;
+                }
+                if (d > diameter) diameter = d;
+                long next = 0;
+                for (long f = frontier; f != 0; f &= f - 1) {
+                    next |= roomsById.get(Long.numberOfTrailingZeros(f)).getAdjacencyMask();
+                }
+                frontier = next & ~visited;
+                visited |= frontier;
+            }
+        }
+
+        // Next hop: first neighbor (in neighbor order) that is one move closer
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                int d = distance[from * n + to];
+                if (d <= 0) continue;
+                for (Room nb : roomsById.get(from).getNeighbors()) {
+                    if (distance[nb.getId() * n + to] == d - 1) {
+                        nextHop[from * n + to] = nb.getId();
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Cumulative "within k moves" masks for k = 0 … diameter
+        int width = diameter + 1;
+        within = new long[n * width];
+        for (int from = 0; from < n; from++) {
+            long acc = 0;
+            for (int k = 0; k < width; k++) {
+                acc |= rings[from][k];
+                within[from * width + k] = acc;
+            }
+        }
+    }
+
+    /**
+     * @return number of moves on a shortest path from a to b
+     *         (0 if a == b, -1 if b is unreachable)
+     */
+    public int distance(Room a, Room b) {
+        return distance[a.getId() * roomsById.size() + b.getId()];
+    }
+
+    /**
+     * @return the neighbor of from that starts a shortest path to to,
+     *         or null if from == to or to is unreachable
+     */
+    public Room nextStepToward(Room from, Room to) {
+        int hop = nextHop[from.getId() * roomsById.size() + to.getId()];
+        return hop < 0 ? null : roomsById.get(hop);
+    }
+
+    /** @return bitmask of room ids reachable from from in at most k moves */
+    public long roomsWithinMask(Room from, int k) {
+        if (k < 0) return 0;
+        int width = diameter + 1;
+        return within[from.getId() * width + Math.min(k, diameter)];
+    }
+
+    /** @return bitmask of Set ids reachable from from in at most k moves */
+    public long setsWithinMask(Room from, int k) {
+        return roomsWithinMask(from, k) & setMask;
+    }
+
+    /**
+     * Lists the sets reachable from a room in at most k moves, nearest first
+     * (ties in id order).
+     * @param from Starting room
+     * @param k    Maximum number of moves
+     * @return Sets within range, ordered by distance
+     */
+    public List<Set> nearestSetsWithin(Room from, int k) {
+        List<Set> result = new ArrayList<>();
+        long prev = 0;
+        for (int d = 0; d <= Math.min(k, diameter); d++) {
+            long ring = setsWithinMask(from, d) & ~prev;
+            for (long m = ring; m != 0; m &= m - 1) {
+                result.add((Set) roomsById.get(Long.numberOfTrailingZeros(m)));
+            }
+            prev |= ring;
+        }
+        return result;
+    }
+
+    /** @return the longest shortest-path distance between any two rooms */
+    public int getDiameter() { return diameter; }
+
     // ── Day-management helpers ────────────────────────────────────────────────
 
     /**
      * Counts how many sets currently have active (non-wrapped) scenes.
      * Used to detect end-of-day condition (≤1 active scene remaining).
      */
-    public int countActiveSets() {
-        int count = 0;
-        for (Set s : sets) if (!s.isWrapped()) count++;
-        return count;
+    public int countActiveSets() { return activeSets; }
+
+    /** @return bitmask of active sets (bit i ⇔ getSets().get(i) is active) */
+    public long getActiveSetMask() { return activeSetMask; }
+
+    /** Called by Set when it starts or stops having an active scene. */
+    void setActivityChanged(int setIndex, boolean active) {
+        if (active) {
+            activeSetMask |= 1L << setIndex;
+            activeSets++;
+        } else {
+            activeSetMask &= ~(1L << setIndex);
+            activeSets--;
+        }
     }
 
     /** Calls resetForNewDay() on every set. */
@@ -0,0 +1,22 @@
+/**
+ * A computer-controlled player.  A Bot is handed the GameManager when it
+ * is its seat's turn and issues commands through the same public command
+ * methods the console uses (cmdMove, cmdWork, cmdAct, …).
+ *
+ * Contract: playTurn() must leave the turn finished – either by calling
+ * cmdEnd() or because its last action ended the day or the game (in which
+ * case the GameManager has already moved on and cmdEnd() must NOT be called).
+ *
+ * Agent is a Bot that only chooses typed Actions and leaves the turn
+ * bookkeeping to its default playTurn().
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public interface Bot {
+
+    /**
+     * Plays one complete turn for the active player.
+     * @param gm Game whose active player is controlled by this bot
+     */
+    void playTurn(GameManager gm);
+}
@@ -0,0 +1,56 @@
+/**
+ * A ConsoleRenderer that renders into an in-memory buffer instead of a
+ * console, so a server can collect a command's full response and send it
+ * in one write.
+ *
+ * Not thread-safe: use one BufferedSink per game and drain it from the
+ * thread that runs that game's commands.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+public class BufferedSink extends ConsoleRenderer {
+
+    private final ByteArrayOutputStream buffer;
+
+    public BufferedSink() {
+        this(new ByteArrayOutputStream(4096));
+    }
+
+    private BufferedSink(ByteArrayOutputStream buffer) {
+        super(new PrintStream(buffer, false, StandardCharsets.UTF_8));
+        this.buffer = buffer;
+    }
+
+    /** @return true if nothing has been rendered since the last drain */
+    public boolean isEmpty() {
+        out.flush();
+        return buffer.size() == 0;
+    }
+
+    /**
+     * Returns everything rendered since the last drain and empties the buffer.
+     * @return Rendered text
+     */
+    public String drain() {
+        out.flush();
+        String text = buffer.toString(StandardCharsets.UTF_8);
+        buffer.reset();
+        return text;
+    }
+
+    /**
+     * Returns the raw UTF-8 bytes rendered since the last drain and empties
+     * the buffer.
+     * @return Rendered bytes
+     */
+    public byte[] drainBytes() {
+        out.flush();
+        byte[] bytes = buffer.toByteArray();
+        buffer.reset();
+        return bytes;
+    }
+}
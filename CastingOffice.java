@@ -4,14 +4,25 @@
  *
  * Aggregation: owns a list of Upgrade objects loaded from board.xml.
  *
+ * As upgrades are added they are also indexed into a primitive
+ * [level][currency] cost table, so price lookups (findUpgrade, getCost,
+ * UpgradePlanner) are array reads instead of list scans.
+ *
  * CSCI 345 – Deadwood Assignment 2
  */
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class CastingOffice extends Room {
 
+    /** Currency indices of the cost table */
+    public static final int DOLLAR = 0;
+    public static final int CREDIT = 1;
+
     private final List<Upgrade> upgrades;
+    private Upgrade[][]         byLevel = new Upgrade[0][];  // [level][currency]
+    private int[][]             cost    = new int[0][];      // [level][currency], -1 = none
 
     public CastingOffice() {
         super("office");
@@ -21,7 +32,22 @@ public class CastingOffice extends Room {
     // ── Upgrade management ────────────────────────────────────────────────────
 
     /** Adds an upgrade option (called during XML parsing). */
-    public void addUpgrade(Upgrade u) { upgrades.add(u); }
+    public void addUpgrade(Upgrade u) {
+        upgrades.add(u);
+        int c = currencyIndex(u.getCurrency());
+        if (c < 0 || u.getLevel() < 0) return;
+        if (u.getLevel() >= cost.length) {
+            int old = cost.length;
+            cost    = Arrays.copyOf(cost,    u.getLevel() + 1);
+            byLevel = Arrays.copyOf(byLevel, u.getLevel() + 1);
+            for (int l = old; l < cost.length; l++) {
+                cost[l]    = new int[] { -1, -1 };
+                byLevel[l] = new Upgrade[2];
+            }
+        }
+        cost[u.getLevel()][c]    = u.getAmount();
+        byLevel[u.getLevel()][c] = u;
+    }
 
     /** @return all available upgrade options */
     public List<Upgrade> getUpgrades() { return upgrades; }
@@ -33,13 +59,30 @@ public class CastingOffice extends Room {
      * @return matching Upgrade or null if not found
      */
     public Upgrade findUpgrade(int level, String currency) {
-        for (Upgrade u : upgrades) {
-            if (u.getLevel() == level
-                    && u.getCurrency().equalsIgnoreCase(currency)) {
-                return u;
-            }
-        }
-        return null;
+        int c = currencyIndex(currency);
+        return c < 0 || level < 0 || level >= byLevel.length ? null : byLevel[level][c];
+    }
+
+    /**
+     * @param level    Target rank
+     * @param currency DOLLAR or CREDIT
+     * @return cost of that upgrade, or -1 if the office does not offer it
+     */
+    public int getCost(int level, int currency) {
+        return level < 0 || level >= cost.length ? -1 : cost[level][currency];
+    }
+
+    /** @return highest rank any upgrade reaches (0 if none) */
+    public int getMaxLevel() { return Math.max(0, cost.length - 1); }
+
+    /**
+     * @param currency "dollar" or "credit" (case-insensitive)
+     * @return DOLLAR, CREDIT, or -1 for anything else
+     */
+    public static int currencyIndex(String currency) {
+        if (currency.equalsIgnoreCase("dollar")) return DOLLAR;
+        if (currency.equalsIgnoreCase("credit")) return CREDIT;
+        return -1;
     }
 
     // ── Room interface ────────────────────────────────────────────────────────
@@ -0,0 +1,522 @@
+/**
+ * Precompiled binary form of everything XMLParser/StaxParser produce from
+ * board.xml and cards.xml: rooms, takes, extras, neighbors, upgrades,
+ * scene cards and their parts.
+ *
+ * File layout (big-endian):
+ *   magic "DWCT", format version, 32-byte SHA-256 of the source XML
+ *   string table  – every name / line / description stored once (UTF-8)
+ *   rooms         – kind, name id, takes, extras (name id, level, line id)
+ *   neighbors     – per room, the int ids of its adjacent rooms
+ *   upgrades      – level, currency id, amount
+ *   cards         – name id, budget, scene, description id, parts
+ *
+ * The catalog is compiled once and cached next to board.xml as
+ * "deadwood.catalog".  Later runs memory-map the file instead of parsing
+ * XML; the content hash is re-checked on every load, so editing either XML
+ * file triggers a rebuild automatically.  Within one JVM decoded catalogs
+ * are also memoised, keyed by the XML paths and modification times.
+ *
+ * A Catalog is immutable and shared freely between threads.  Each game
+ * gets its own mutable model objects from newBoard() / newDeck().
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Catalog {
+
+    /** Name of the cache file written next to board.xml. */
+    public static final String CACHE_FILE = "deadwood.catalog";
+
+    private static final int MAGIC   = 0x44574354; // "DWCT"
+    private static final int VERSION = 1;
+
+    private static final byte KIND_SET     = 0;
+    private static final byte KIND_TRAILER = 1;
+    private static final byte KIND_OFFICE  = 2;
+
+    /** In-process memo: "board|cards" → decoded catalog + source stamps. */
+    private static final Map<String, Cached> MEMO = new ConcurrentHashMap<>();
+
+    // ── Decoded tables ────────────────────────────────────────────────────────
+    private final byte[]   hash;         // SHA-256 of the source XML
+    private final String[] strings;      // interned string table
+
+    private final byte[]   roomKind;     // KIND_* per room
+    private final int[]    roomName;     // string id per room
+    private final int[][]  roomTakes;    // take numbers per room (sets only)
+    private final int[][]  roomExtras;   // {name, level, line} triples per room
+    private final int[][]  roomNeighbors;// neighbor room ids per room
+
+    private final int[]    upgrades;     // {level, currency, amount} triples
+
+    private final int[]    cardHeader;   // {name, budget, scene, desc} per card
+    private final int[][]  cardParts;    // {name, level, line} triples per card
+
+    private final Odds     odds;         // act/payout tables for these budgets
+
+    private Catalog(byte[] hash, String[] strings,
+                    byte[] roomKind, int[] roomName, int[][] roomTakes,
+                    int[][] roomExtras, int[][] roomNeighbors,
+                    int[] upgrades, int[] cardHeader, int[][] cardParts) {
+        this.hash          = hash;
+        this.strings       = strings;
+        this.roomKind      = roomKind;
+        this.roomName      = roomName;
+        this.roomTakes     = roomTakes;
+        this.roomExtras    = roomExtras;
+        this.roomNeighbors = roomNeighbors;
+        this.upgrades      = upgrades;
+        this.cardHeader    = cardHeader;
+        this.cardParts     = cardParts;
+
+        int[] budgets  = new int[cardParts.length];
+        int   starring = 1;
+        for (int c = 0; c < cardParts.length; c++) {
+            budgets[c] = cardHeader[c * 4 + 1];
+            starring   = Math.max(starring, cardParts[c].length / 3);
+        }
+        this.odds = Odds.forBudgets(budgets, starring);
+    }
+
+    // ── Loading ───────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the catalog for the given XML files, using (in order) the
+     * in-process memo, the memory-mapped cache file, or a fresh compile that
+     * also (re)writes the cache file.
+     *
+     * @param boardFile Path to board.xml
+     * @param cardsFile Path to cards.xml
+     * @return Decoded catalog
+     * @throws Exception on XML parse or I/O failure
+     */
+    public static Catalog load(String boardFile, String cardsFile) throws Exception {
+        Path board = Paths.get(boardFile).toAbsolutePath();
+        Path cards = Paths.get(cardsFile).toAbsolutePath();
+        String key   = board + "|" + cards;
+        long   stamp = stamp(board) * 31 + stamp(cards);
+
+        Cached hit = MEMO.get(key);
+        if (hit != null && hit.stamp == stamp) return hit.catalog;
+
+        byte[] hash  = hashSources(board, cards);
+        Path   cache = cacheFileFor(board);
+        Catalog catalog = null;
+        if (Files.isRegularFile(cache)) {
+            catalog = map(cache);
+            if (catalog != null && !Arrays.equals(catalog.hash, hash)) catalog = null;
+        }
+        if (catalog == null) {
+            catalog = compile(boardFile, cardsFile, hash);
+            try {
+                catalog.write(cache);
+            } catch (IOException e) {
+                // Read-only data directory: keep the in-memory catalog
+            }
+        }
+        MEMO.put(key, new Cached(catalog, stamp));
+        return catalog;
+    }
+
+    /**
+     * Compiles the catalog ahead of time and writes the cache file.
+     *
+     * @param boardFile Path to board.xml
+     * @param cardsFile Path to cards.xml
+     * @return Path of the written catalog file
+     */
+    public static Path compileToCache(String boardFile, String cardsFile) throws Exception {
+        Path board = Paths.get(boardFile).toAbsolutePath();
+        Path cards = Paths.get(cardsFile).toAbsolutePath();
+        Path cache = cacheFileFor(board);
+        compile(boardFile, cardsFile, hashSources(board, cards)).write(cache);
+        return cache;
+    }
+
+    /** @return the cache file used for the given board.xml */
+    public static Path cacheFileFor(Path boardFile) {
+        Path dir = boardFile.toAbsolutePath().getParent();
+        return dir == null ? Paths.get(CACHE_FILE) : dir.resolve(CACHE_FILE);
+    }
+
+    /**
+     * Decodes a catalog from its binary form (e.g. embedded in a snapshot).
+     * @param buf Buffer positioned at the catalog magic; advanced past it
+     * @return Decoded catalog, or null if the format or version is wrong
+     */
+    public static Catalog decode(ByteBuffer buf) {
+        if (buf.remaining() < 8 || buf.getInt() != MAGIC
+                || buf.getInt() != VERSION) {
+            return null;
+        }
+        byte[] hash = new byte[32];
+        buf.get(hash);
+
+        String[] strings = new String[buf.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] utf = new byte[buf.getShort() & 0xFFFF];
+            buf.get(utf);
+            strings[i] = new String(utf, StandardCharsets.UTF_8);
+        }
+
+        int nRooms = buf.getShort();
+        byte[]  kind   = new byte[nRooms];
+        int[]   name   = new int[nRooms];
+        int[][] takes  = new int[nRooms][];
+        int[][] extras = new int[nRooms][];
+        int[][] nbs    = new int[nRooms][];
+        for (int r = 0; r < nRooms; r++) {
+            kind[r]   = buf.get();
+            name[r]   = buf.getShort() & 0xFFFF;
+            takes[r]  = new int[buf.get()];
+            for (int t = 0; t < takes[r].length; t++) takes[r][t] = buf.get();
+            extras[r] = readParts(buf);
+        }
+        for (int r = 0; r < nRooms; r++) {
+            nbs[r] = new int[buf.get()];
+            for (int n = 0; n < nbs[r].length; n++) nbs[r][n] = buf.get();
+        }
+
+        int[] ups = new int[buf.get() * 3];
+        for (int u = 0; u < ups.length; u += 3) {
+            ups[u]     = buf.get();
+            ups[u + 1] = buf.getShort() & 0xFFFF;
+            ups[u + 2] = buf.getShort();
+        }
+
+        int nCards = buf.getShort();
+        int[]   header = new int[nCards * 4];
+        int[][] parts  = new int[nCards][];
+        for (int c = 0; c < nCards; c++) {
+            header[c * 4]     = buf.getShort() & 0xFFFF;
+            header[c * 4 + 1] = buf.get();
+            header[c * 4 + 2] = buf.getShort();
+            header[c * 4 + 3] = buf.getShort() & 0xFFFF;
+            parts[c] = readParts(buf);
+        }
+        return new Catalog(hash, strings, kind, name, takes, extras, nbs,
+                           ups, header, parts);
+    }
+
+    // ── Instantiation ─────────────────────────────────────────────────────────
+
+    /**
+     * Builds a fresh, fully wired Board (identical to what parseBoard returns)
+     * from the catalog tables.  No XML is touched.
+     * @return New Board owned by the caller
+     */
+    public Board newBoard() {
+        Board  board = new Board();
+        Room[] rooms = new Room[roomKind.length];
+        for (int r = 0; r < rooms.length; r++) {
+            switch (roomKind[r]) {
+                case KIND_SET: {
+                    Set set = new Set(strings[roomName[r]]);
+                    for (int num : roomTakes[r]) set.addTake(new Take(num));
+                    int[] ex = roomExtras[r];
+                    for (int i = 0; i < ex.length; i += 3) {
+                        set.addExtra(new Role(strings[ex[i]], ex[i + 1],
+                                              strings[ex[i + 2]], false));
+                    }
+                    rooms[r] = set;
+                    break;
+                }
+                case KIND_TRAILER:
+                    rooms[r] = new Trailer();
+                    break;
+                default: {
+                    CastingOffice office = new CastingOffice();
+                    for (int i = 0; i < upgrades.length; i += 3) {
+                        office.addUpgrade(new Upgrade(upgrades[i],
+                            strings[upgrades[i + 1]], upgrades[i + 2]));
+                    }
+                    rooms[r] = office;
+                }
+            }
+            board.addRoom(rooms[r]);
+        }
+        for (int r = 0; r < rooms.length; r++) {
+            for (int nb : roomNeighbors[r]) rooms[r].addNeighbor(rooms[nb]);
+        }
+        board.buildDistanceTable();
+        return board;
+    }
+
+    /**
+     * Builds a fresh deck (identical to what parseCards returns).
+     * @return New, unshuffled list of SceneCards owned by the caller
+     */
+    public List<SceneCard> newDeck() {
+        List<SceneCard> deck = new ArrayList<>(cardParts.length);
+        for (int c = 0; c < cardParts.length; c++) {
+            SceneCard card = new SceneCard(strings[cardHeader[c * 4]],
+                cardHeader[c * 4 + 1], cardHeader[c * 4 + 2],
+                strings[cardHeader[c * 4 + 3]]);
+            int[] parts = cardParts[c];
+            for (int i = 0; i < parts.length; i += 3) {
+                card.addRole(new Role(strings[parts[i]], parts[i + 1],
+                                      strings[parts[i + 2]], true));
+            }
+            deck.add(card);
+        }
+        return deck;
+    }
+
+    /** @return a copy of the SHA-256 of the source XML files */
+    public byte[] getHash() { return hash.clone(); }
+
+    /** @return number of scene cards in the catalog */
+    public int cardCount() { return cardParts.length; }
+
+    /** @return name of the scene card with the given id */
+    public String cardName(int id) { return strings[cardHeader[id * 4]]; }
+
+    /** @return number of sets (filming locations) on the board */
+    public int setCount() {
+        int n = 0;
+        for (byte kind : roomKind) if (kind == KIND_SET) n++;
+        return n;
+    }
+
+    /**
+     * @param index Set index, as returned by Set.getSetIndex()
+     * @return name of that set
+     */
+    public String setName(int index) {
+        for (int r = 0, seen = 0; r < roomKind.length; r++) {
+            if (roomKind[r] == KIND_SET && seen++ == index) return strings[roomName[r]];
+        }
+        throw new IndexOutOfBoundsException("set index " + index);
+    }
+
+    /** @return exact act/payout tables for every budget in the deck */
+    public Odds getOdds() { return odds; }
+
+    // ── Encoding ──────────────────────────────────────────────────────────────
+
+    /**
+     * Serialises this catalog to its binary form.
+     * @return Encoded bytes (see class comment for the layout)
+     */
+    public byte[] encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(hash);
+
+            out.writeInt(strings.length);
+            for (String s : strings) {
+                byte[] utf = s.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(utf.length);
+                out.write(utf);
+            }
+
+            out.writeShort(roomKind.length);
+            for (int r = 0; r < roomKind.length; r++) {
+                out.writeByte(roomKind[r]);
+                out.writeShort(roomName[r]);
+                out.writeByte(roomTakes[r].length);
+                for (int num : roomTakes[r]) out.writeByte(num);
+                writeParts(out, roomExtras[r]);
+            }
+            for (int[] nbs : roomNeighbors) {
+                out.writeByte(nbs.length);
+                for (int nb : nbs) out.writeByte(nb);
+            }
+
+            out.writeByte(upgrades.length / 3);
+            for (int u = 0; u < upgrades.length; u += 3) {
+                out.writeByte(upgrades[u]);
+                out.writeShort(upgrades[u + 1]);
+                out.writeShort(upgrades[u + 2]);
+            }
+
+            out.writeShort(cardParts.length);
+            for (int c = 0; c < cardParts.length; c++) {
+                out.writeShort(cardHeader[c * 4]);
+                out.writeByte(cardHeader[c * 4 + 1]);
+                out.writeShort(cardHeader[c * 4 + 2]);
+                out.writeShort(cardHeader[c * 4 + 3]);
+                writeParts(out, cardParts[c]);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory write failed", e);
+        }
+    }
+
+    // ── Internal helpers ──────────────────────────────────────────────────────
+
+    /** Parses the XML once and flattens the model into catalog tables. */
+    private static Catalog compile(String boardFile, String cardsFile, byte[] hash)
+            throws Exception {
+        StaxParser parser = new StaxParser();
+        Board           board = parser.parseBoard(boardFile);
+        List<SceneCard> cards = parser.parseCards(cardsFile);
+
+        Map<String, Integer> ids     = new HashMap<>();
+        List<String>         strings = new ArrayList<>();
+
+        // Room order is the Board's registration order: sets, trailer, office
+        List<Room> rooms = new ArrayList<>(board.getSets());
+        rooms.add(board.getTrailer());
+        rooms.add(board.getOffice());
+        Map<Room, Integer> roomIds = new HashMap<>();
+        for (int r = 0; r < rooms.size(); r++) roomIds.put(rooms.get(r), r);
+
+        int n = rooms.size();
+        byte[]  kind   = new byte[n];
+        int[]   name   = new int[n];
+        int[][] takes  = new int[n][];
+        int[][] extras = new int[n][];
+        int[][] nbs    = new int[n][];
+        for (int r = 0; r < n; r++) {
+            Room room = rooms.get(r);
+            name[r] = intern(room.getName(), ids, strings);
+            if (room instanceof Set) {
+                Set set = (Set) room;
+                kind[r]   = KIND_SET;
+                takes[r]  = new int[set.getTakes().size()];
+                for (int t = 0; t < takes[r].length; t++) {
+                    takes[r][t] = set.getTakes().get(t).getNumber();
+                }
+                extras[r] = flattenRoles(set.getExtras(), ids, strings);
+            } else {
+                kind[r]   = room instanceof Trailer ? KIND_TRAILER : KIND_OFFICE;
+                takes[r]  = new int[0];
+                extras[r] = new int[0];
+            }
+            List<Room> roomNbs = room.getNeighbors();
+            nbs[r] = new int[roomNbs.size()];
+            for (int i = 0; i < nbs[r].length; i++) nbs[r][i] = roomIds.get(roomNbs.get(i));
+        }
+
+        List<Upgrade> ups = board.getOffice().getUpgrades();
+        int[] upgrades = new int[ups.size() * 3];
+        for (int u = 0; u < ups.size(); u++) {
+            upgrades[u * 3]     = ups.get(u).getLevel();
+            upgrades[u * 3 + 1] = intern(ups.get(u).getCurrency(), ids, strings);
+            upgrades[u * 3 + 2] = ups.get(u).getAmount();
+        }
+
+        int[]   header = new int[cards.size() * 4];
+        int[][] parts  = new int[cards.size()][];
+        for (int c = 0; c < cards.size(); c++) {
+            SceneCard card = cards.get(c);
+            header[c * 4]     = intern(card.getName(), ids, strings);
+            header[c * 4 + 1] = card.getBudget();
+            header[c * 4 + 2] = card.getSceneNumber();
+            header[c * 4 + 3] = intern(card.getDescription(), ids, strings);
+            parts[c] = flattenRoles(card.getRoles(), ids, strings);
+        }
+
+        return new Catalog(hash, strings.toArray(new String[0]), kind, name,
+                           takes, extras, nbs, upgrades, header, parts);
+    }
+
+    private static int[] flattenRoles(List<Role> roles, Map<String, Integer> ids,
+                                      List<String> strings) {
+        int[] flat = new int[roles.size() * 3];
+        for (int i = 0; i < roles.size(); i++) {
+            Role r = roles.get(i);
+            flat[i * 3]     = intern(r.getName(), ids, strings);
+            flat[i * 3 + 1] = r.getLevel();
+            flat[i * 3 + 2] = intern(r.getLine(), ids, strings);
+        }
+        return flat;
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<String> strings) {
+        Integer id = ids.get(s);
+        if (id == null) {
+            id = strings.size();
+            ids.put(s, id);
+            strings.add(s);
+        }
+        return id;
+    }
+
+    private static int[] readParts(ByteBuffer buf) {
+        int[] flat = new int[buf.get() * 3];
+        for (int i = 0; i < flat.length; i += 3) {
+            flat[i]     = buf.getShort() & 0xFFFF;
+            flat[i + 1] = buf.get();
+            flat[i + 2] = buf.getShort() & 0xFFFF;
+        }
+        return flat;
+    }
+
+    private static void writeParts(DataOutputStream out, int[] flat) throws IOException {
+        out.writeByte(flat.length / 3);
+        for (int i = 0; i < flat.length; i += 3) {
+            out.writeShort(flat[i]);
+            out.writeByte(flat[i + 1]);
+            out.writeShort(flat[i + 2]);
+        }
+    }
+
+    /** Memory-maps a catalog file; returns null if it is not a valid catalog. */
+    private static Catalog map(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        } catch (IOException | RuntimeException e) {
+            return null; // unreadable or truncated – rebuild it
+        }
+    }
+
+    /** Writes the catalog atomically (temp file + rename). */
+    private void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, encode());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** SHA-256 over both XML files (length-prefixed so they can't alias). */
+    private static byte[] hashSources(Path board, Path cards) throws Exception {
+        MessageDigest sha = MessageDigest.getInstance("SHA-256");
+        for (Path p : new Path[] { board, cards }) {
+            byte[] content = Files.readAllBytes(p);
+            sha.update(ByteBuffer.allocate(8).putLong(content.length).array());
+            sha.update(content);
+        }
+        return sha.digest();
+    }
+
+    private static long stamp(Path p) throws IOException {
+        return Files.getLastModifiedTime(p).toMillis() * 31 + Files.size(p);
+    }
+
+    /** Memo entry: a decoded catalog and the source stamp it was built from. */
+    private static final class Cached {
+        final Catalog catalog;
+        final long    stamp;
+
+        Cached(Catalog catalog, long stamp) {
+            this.catalog = catalog;
+            this.stamp   = stamp;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Append-only binary journal of played games.
+ *
+ * Everything random in a game follows from its seed (see GameManager's
+ * RngStream streams), so a game is fully described by its setup and the
+ * commands GameManager accepted.  Rejected commands change nothing and are
+ * not recorded; dice are not recorded either – the replayer re-rolls them.
+ *
+ * File layout:
+ *   header  – magic "DWJL", format version, 32-byte catalog hash
+ *   games   – one block per finished game: varint length, then records
+ *
+ * Records (opcode and arguments are unsigned LEB128 varints):
+ *   GAME     numPlayers, seed (8 bytes, big-endian)
+ *   MOVE     room id           WORK     role slot at the current set
+ *   ACT                        REHEARSE
+ *   UPGRADE  level, 0 = dollar / 1 = credit
+ *   END                        QUIT
+ *   SCORES   numPlayers, each player's final getScore()
+ *
+ * Each game is recorded by its own Recorder (one per GameManager, see
+ * GameManager.setJournal) into a private buffer; when the game ends the
+ * whole block is appended to a shared direct buffer that is written to the
+ * FileChannel when full and on flush()/close().  Blocks never interleave,
+ * so any number of games can be journaled concurrently.  A game that never
+ * ends (abandoned, crashed) leaves no block.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+public final class CommandJournal implements AutoCloseable {
+
+    static final int MAGIC   = 0x44574A4C; // "DWJL"
+    static final int VERSION = 2;   // 2: cards leave the deck once dealt
+    static final int HEADER  = 4 + 4 + 32;
+
+    // ── Opcodes ───────────────────────────────────────────────────────────────
+    static final int OP_GAME     = 1;
+    static final int OP_MOVE     = 2;
+    static final int OP_WORK     = 3;
+    static final int OP_ACT      = 4;
+    static final int OP_REHEARSE = 5;
+    static final int OP_UPGRADE  = 6;
+    static final int OP_END      = 7;
+    static final int OP_QUIT     = 8;
+    static final int OP_SCORES   = 9;
+
+    private final FileChannel channel;
+    private final ByteBuffer  buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    private long games;
+
+    /**
+     * Opens (creating if needed) a journal for games played on the given
+     * catalog.  An existing journal is appended to.
+     *
+     * @param file    Journal file
+     * @param catalog Board/card catalog every journaled game uses
+     * @throws IOException           on I/O failure
+     * @throws IllegalStateException if the file belongs to another catalog
+     */
+    public CommandJournal(Path file, Catalog catalog) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                   StandardOpenOption.READ, StandardOpenOption.WRITE);
+        byte[] hash = catalog.getHash();
+        try {
+            if (channel.size() == 0) {
+                buffer.putInt(MAGIC).putInt(VERSION).put(hash);
+            } else {
+                ByteBuffer head = ByteBuffer.allocate(HEADER);
+                channel.read(head, 0);
+                head.flip();
+                byte[]  fileHash = new byte[32];
+                boolean ok       = head.remaining() == HEADER
+                                && head.getInt() == MAGIC && head.getInt() == VERSION;
+                if (ok) {
+                    head.get(fileHash);
+                    ok = Arrays.equals(fileHash, hash);
+                }
+                if (!ok) {
+                    throw new IllegalStateException(file + " is not a journal for this catalog");
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return a recorder for one new game (attach with GameManager.setJournal) */
+    public Recorder newRecorder() { return new Recorder(this); }
+
+    /** @return games appended through this instance */
+    public synchronized long gameCount() { return games; }
+
+    /** Writes buffered games to the file. */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Appends one finished game's block, length-prefixed. */
+    private synchronized void append(byte[] block, int length) throws IOException {
+        int need = length + 5;
+        if (buffer.remaining() < need) flush();
+        if (buffer.remaining() < need) {                  // larger than the buffer
+            ByteBuffer big = ByteBuffer.allocate(need);
+            putVarint(big, length);
+            big.put(block, 0, length).flip();
+            while (big.hasRemaining()) channel.write(big);
+        } else {
+            putVarint(buffer, length);
+            buffer.put(block, 0, length);
+        }
+        games++;
+    }
+
+    // ── Varints ───────────────────────────────────────────────────────────────
+
+    static void putVarint(ByteBuffer buf, int v) {
+        while ((v & ~0x7F) != 0) {
+            buf.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+    }
+
+    static int getVarint(ByteBuffer buf) {
+        int v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buf.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+            if (shift > 28) throw new IllegalStateException("malformed varint");
+        }
+    }
+
+    // ── Per-game recorder ─────────────────────────────────────────────────────
+
+    /**
+     * Records one game's accepted commands; GameManager calls these as it
+     * accepts each command.  Not thread-safe – one per game.
+     */
+    public static final class Recorder {
+        private final CommandJournal journal;
+        private byte[]               buf = new byte[256];
+        private int                  len;
+
+        private Recorder(CommandJournal journal) { this.journal = journal; }
+
+        void begin(int numPlayers, long seed) {
+            len = 0;
+            varint(OP_GAME);
+            varint(numPlayers);
+            for (int shift = 56; shift >= 0; shift -= 8) put((byte) (seed >>> shift));
+        }
+
+        void move(int roomId) { varint(OP_MOVE); varint(roomId); }
+        void work(int slot)   { varint(OP_WORK); varint(slot);   }
+        void act()            { varint(OP_ACT);      }
+        void rehearse()       { varint(OP_REHEARSE); }
+        void end()            { varint(OP_END);      }
+        void quit()           { varint(OP_QUIT);     }
+
+        void upgrade(int level, boolean credit) {
+            varint(OP_UPGRADE);
+            varint(level);
+            varint(credit ? 1 : 0);
+        }
+
+        /** Closes the game with its final scores and appends it to the file. */
+        void finish(List<Player> players) {
+            varint(OP_SCORES);
+            varint(players.size());
+            for (Player p : players) varint(p.getScore());
+            try {
+                journal.append(buf, len);
+            } catch (IOException e) {
+                throw new IllegalStateException("journal write failed", e);
+            }
+            len = 0;
+        }
+
+        private void varint(int v) {
+            while ((v & ~0x7F) != 0) {
+                put((byte) (v & 0x7F | 0x80));
+                v >>>= 7;
+            }
+            put((byte) v);
+        }
+
+        private void put(byte b) {
+            if (len == buf.length) buf = Arrays.copyOf(buf, len * 2);
+            buf[len++] = b;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Outcome of a GameManager command.
+ *
+ * Every command that can be refused returns one of these as well as
+ * emitting the usual event (commandRejected, roleUnavailable, …) to the
+ * sink, so a program driving the game – an Agent, a test, a server – can
+ * branch on the code and never has to read the text.  Commands that
+ * cannot be refused (who, where, board, quit) stay void.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public enum CommandResult {
+
+    /** The command was carried out */
+    OK,
+
+    // ── move / work / upgrade ────────────────────────────────────────────────
+    /** The player is working a role (cannot move, take a role or upgrade) */
+    WORKING,
+    /** The player has already moved this turn */
+    ALREADY_MOVED,
+    /** No such room, or not adjacent to the player's room */
+    NOT_ADJACENT,
+    /** The player has already taken a role this turn */
+    ALREADY_TOOK_ROLE,
+    /** The player is not on a filming set */
+    NOT_A_SET,
+    /** The set's scene has wrapped */
+    SCENE_WRAPPED,
+    /** No free role by that name / in that slot on this set */
+    ROLE_UNAVAILABLE,
+    /** The player's rank is below the role's level */
+    RANK_TOO_LOW,
+
+    // ── act / rehearse ───────────────────────────────────────────────────────
+    /** The player is not working a role */
+    NOT_WORKING,
+    /** The player has already acted this turn */
+    ALREADY_ACTED,
+    /** The player has already rehearsed this turn */
+    ALREADY_REHEARSED,
+    /** More chips would guarantee success (chips must stay below budget) */
+    MAX_CHIPS,
+
+    // ── upgrade / upgrades / plan ────────────────────────────────────────────
+    /** The player is not at the Casting Office */
+    NOT_AT_OFFICE,
+    /** The rank is not above the player's, or the office does not sell it */
+    BAD_RANK,
+    /** The player cannot pay the price */
+    INSUFFICIENT_FUNDS,
+    /** The currency is neither "dollar" nor "credit" */
+    UNKNOWN_CURRENCY;
+
+    /** @return true if the command was carried out */
+    public boolean isOk() { return this == OK; }
+}
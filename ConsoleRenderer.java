@@ -0,0 +1,283 @@
+/**
+ * Renders game events as the classic Deadwood console text.
+ *
+ * This is the only place the game's messages are worded; GameManager just
+ * reports events.  Output goes to any PrintStream (System.out by default).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.PrintStream;
+import java.util.List;
+
+public class ConsoleRenderer implements GameEventSink {
+
+    protected final PrintStream out;
+
+    /**
+     * @param out Stream that receives the rendered text
+     */
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /** @return the stream this renderer prints to */
+    public PrintStream getStream() { return out; }
+
+    // ── Game / day lifecycle ──────────────────────────────────────────────────
+
+    @Override
+    public void gameStarted(int numPlayers, int totalDays) {
+        out.println("=== Welcome to Deadwood! ===");
+        out.println("Players: " + numPlayers + "  |  Days: " + totalDays);
+    }
+
+    @Override
+    public void dayStarted(int day) {
+        out.println("\n--- Day " + day + " begins ---");
+    }
+
+    @Override
+    public void cardsDealt() {
+        out.println("Scene cards dealt. All players return to the Trailer.");
+    }
+
+    @Override
+    public void activePlayerChanged(Player p) {
+        out.println("\nActive player: " + p.getName());
+    }
+
+    @Override
+    public void lastScenesRemaining(int activeSets) {
+        out.println("Only " + activeSets + " scene(s) remaining – day ends.");
+    }
+
+    @Override
+    public void dayEnded(int day) {
+        out.println("\n--- Day " + day + " ends ---");
+    }
+
+    @Override
+    public void gameEnded(List<Player> players, Player winner, int highScore) {
+        out.println("\n============================");
+        out.println("         GAME OVER          ");
+        out.println("============================");
+        out.println("Final Scores (dollars + credits + rank):");
+        for (Player p : players) {
+            out.printf("  %-8s : $%2d + %2dcr + rank %d = %d%n",
+                p.getName(), p.getDollars(), p.getCredits(), p.getRank(),
+                p.getScore());
+        }
+        out.println("\nWinner: " + winner.getName()
+                    + " with " + highScore + " points!");
+    }
+
+    @Override
+    public void gameQuit() {
+        out.println("Game ended by player request.");
+    }
+
+    // ── Turn actions ──────────────────────────────────────────────────────────
+
+    @Override
+    public void playerMoved(Player p, Room dest) {
+        out.println(p.getName() + " moves to " + dest.getStatusDescription());
+    }
+
+    @Override
+    public void roleTaken(Player p, Role role) {
+        String roleType = role.isOnCard() ? "starring" : "extra";
+        out.println(p.getName() + " takes the " + roleType + " role: "
+            + role.getName() + " (level " + role.getLevel() + ")");
+        out.println("  Line: \"" + role.getLine() + "\"");
+    }
+
+    @Override
+    public void actRolled(Player p, int roll, int chips, int budget) {
+        out.println(p.getName() + " rolls a " + roll
+            + " (+" + chips + " rehearsal) = " + (roll + chips)
+            + " vs budget " + budget);
+    }
+
+    @Override
+    public void actSucceeded(Player p, Role role, int takesRemaining) {
+        String reward = role.isOnCard() ? "2 credits" : "$1";
+        out.println("Success! " + p.getName() + " earns " + reward
+            + ". Takes remaining: " + takesRemaining);
+    }
+
+    @Override
+    public void actFailed(Player p) {
+        out.println("Failed. No reward this time.");
+    }
+
+    @Override
+    public void rehearsed(Player p, int chips) {
+        out.println(p.getName() + " rehearses. Rehearsal chips: " + chips);
+    }
+
+    @Override
+    public void upgraded(Player p, int oldRank, Upgrade u) {
+        out.println(p.getName() + " upgrades from rank " + oldRank
+            + " to rank " + u.getLevel() + " (paid " + u.getAmount() + " "
+            + u.getCurrency() + "s). Balance: $" + p.getDollars()
+            + ", " + p.getCredits() + " credits.");
+    }
+
+    @Override
+    public void turnEnded(Player p) {
+        out.println(p.getName() + " ends their turn.");
+    }
+
+    // ── Scene wrap ────────────────────────────────────────────────────────────
+
+    @Override
+    public void sceneWrapped(Set set, SceneCard card) {
+        out.println("\n*** Scene \"" + card.getName() + "\" WRAPS! ***");
+    }
+
+    @Override
+    public void payoutRolled(int[] dice) {
+        out.print("Budget payout – rolling " + dice.length + " dice: ");
+        for (int d : dice) out.print(d + " ");
+        out.println();
+    }
+
+    @Override
+    public void payoutReceived(Player p, int amount) {
+        out.println("  " + p.getName() + " receives $" + amount);
+    }
+
+    @Override
+    public void payoutSkipped(Set set) {
+        out.println("(No on-card players to receive payout.)");
+    }
+
+    @Override
+    public void playersReleased(Set set) {
+        out.println("All players released from roles at " + set.getName() + ".");
+    }
+
+    // ── Information requests ──────────────────────────────────────────────────
+
+    @Override
+    public void showPlayer(Player p) {
+        out.println(p);
+    }
+
+    @Override
+    public void showLocation(Player p) {
+        String desc = p.getLocation().getStatusDescription();
+        if (p.isWorking()) {
+            out.println(p.getName() + " is in " + desc
+                + " working " + p.getCurrentRole().getName()
+                + ", \"" + p.getCurrentRole().getLine() + "\"");
+        } else {
+            out.println(p.getName() + " is in " + desc);
+        }
+    }
+
+    @Override
+    public void showBoard(List<Player> players, Player active) {
+        out.println("--- All Players ---");
+        for (Player p : players) {
+            String marker = p == active ? " *" : "";
+            out.println("  " + p.getName() + marker
+                + " -> " + p.getLocation().getStatusDescription()
+                + (p.isWorking() ? " [" + p.getCurrentRole().getName() + "]" : ""));
+        }
+    }
+
+    @Override
+    public void showRoles(Set set, int playerRank) {
+        out.println("Roles at " + set.getName() + ":");
+        listRoles(set, playerRank);
+    }
+
+    @Override
+    public void showUpgrades(CastingOffice office, int playerRank) {
+        out.println("Available upgrades (your rank: " + playerRank + "):");
+        out.println("  [Dollar upgrades]");
+        for (Upgrade u : office.getUpgrades()) {
+            if (u.getCurrency().equals("dollar") && u.getLevel() > playerRank)
+                out.println(u);
+        }
+        out.println("  [Credit upgrades]");
+        for (Upgrade u : office.getUpgrades()) {
+            if (u.getCurrency().equals("credit") && u.getLevel() > playerRank)
+                out.println(u);
+        }
+    }
+
+    @Override
+    public void showUpgradePlan(Player p, CastingOffice office, int targetRank,
+                                UpgradePlanner.Plan plan) {
+        String purse = "$" + p.getDollars() + ", " + p.getCredits() + "cr";
+        if (targetRank == 0) {
+            out.println("Best plan for " + p.getName() + " (rank " + p.getRank()
+                + ", " + purse + "): " + plan + (plan.isUpgrade()
+                ? String.format(", expected %+.1f points", plan.getGain())
+                : " – no affordable upgrade pays for itself"));
+        } else if (plan != null) {
+            out.println("Cheapest way to rank " + targetRank + ": " + plan.getCost()
+                + " " + plan.getCurrencyName() + (plan.getCost() == 1 ? "" : "s")
+                + " (you have " + purse + ")  ->  upgrade " + targetRank
+                + " " + plan.getCurrencyName());
+        } else {
+            int d = office.getCost(targetRank, CastingOffice.DOLLAR);
+            int c = office.getCost(targetRank, CastingOffice.CREDIT);
+            if (d < 0 && c < 0) {
+                out.println("The Casting Office does not sell rank " + targetRank + ".");
+            } else {
+                out.println("Rank " + targetRank + " is out of reach: costs "
+                    + (d < 0 ? "" : "$" + d) + (d >= 0 && c >= 0 ? " or " : "")
+                    + (c < 0 ? "" : c + "cr") + ", you have " + purse + ".");
+            }
+        }
+    }
+
+    // ── Rejections ────────────────────────────────────────────────────────────
+
+    @Override
+    public void commandRejected(String reason) {
+        out.println(reason);
+    }
+
+    @Override
+    public void roleUnavailable(String roleName, Set set, int playerRank) {
+        out.println("Role \"" + roleName
+            + "\" not found or not available. Available roles:");
+        listRoles(set, playerRank);
+    }
+
+    @Override
+    public void upgradeUnavailable(int level, String currency,
+                                   CastingOffice office, int playerRank) {
+        out.println("No upgrade found for rank " + level
+            + " with " + currency + "s.");
+        showUpgrades(office, playerRank);
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    private void listRoles(Set set, int playerRank) {
+        // Off-card extras
+        out.println("  [Extra roles]");
+        for (Role r : set.getExtras()) {
+            printRole(r, playerRank);
+        }
+        // On-card (starring) roles
+        if (set.getActiveCard() != null) {
+            out.println("  [Starring roles – " + set.getActiveCard().getName() + "]");
+            for (Role r : set.getActiveCard().getRoles()) {
+                printRole(r, playerRank);
+            }
+        }
+    }
+
+    private void printRole(Role r, int playerRank) {
+        String avail = !r.isAvailable() ? " (taken by "
+            + r.getOccupiedBy().getName() + ")" : "";
+        String rankOk = r.getLevel() <= playerRank ? "" : " [rank too low]";
+        out.println("    " + r + avail + rankOk);
+    }
+}
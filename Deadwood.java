@@ -7,6 +7,13 @@
  * Usage:
  *   java Deadwood <numPlayers>       (uses default XML paths)
  *   java Deadwood <numPlayers> <boardXML> <cardsXML>
+ *   … [--seed <n>]                  (fixed seed: same commands ⇒ same game)
+ *   … [--journal <file>]            (append the finished game to a journal)
+ *   java Deadwood --resume <file>   (continue a game saved with 'save')
+ *   java Deadwood <numPlayers> … --script <file> [--script <file> …] [--threads <n>]
+ *                                   (run command scripts, in parallel if several)
+ *   java Deadwood --compile-catalog [boardXML] [cardsXML]
+ *                                   (pre-build the binary board/card catalog)
  *
  * Commands (case-insensitive):
  *   who                        – print active player info
@@ -19,12 +26,23 @@
  *   upgrade <level> <currency> – upgrade rank at Casting Office
  *   roles                      – list available roles here
  *   upgrades                   – list available upgrades (at office)
+ *   plan [rank]                – cheapest way to a rank, or best upgrade
  *   end                        – end current player's turn
  *   quit / end game            – force-end the game
+ *   stats                      – engine metrics (see EngineMetrics)
  *   help                       – show this command list
+ *   save [file]                – snapshot the game (default deadwood.save)
  *
  * CSCI 345 – Deadwood Assignment 2
  */
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 public class Deadwood {
@@ -33,16 +51,59 @@ public class Deadwood {
     private static final String DEFAULT_BOARD = "board.xml";
     private static final String DEFAULT_CARDS = "cards.xml";
 
+    /** Snapshot file used by 'save' without an argument. */
+    private static final String DEFAULT_SAVE = "deadwood.save";
+
     // ── Main ──────────────────────────────────────────────────────────────────
 
     public static void main(String[] args) {
 
+        // ── Options ───────────────────────────────────────────────────────────
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        String       seedArg = takeOption(argList, "--seed");
+        String       jrnlArg = takeOption(argList, "--journal");
+        String       saveArg = takeOption(argList, "--resume");
+        String       thrdArg = takeOption(argList, "--threads");
+        List<Path>   scripts = new ArrayList<>();
+        for (String s; (s = takeOption(argList, "--script")) != null; ) scripts.add(Paths.get(s));
+        args = argList.toArray(new String[0]);
+
+        Long seed = null;
+        if (seedArg != null) {
+            try {
+                seed = Long.parseLong(seedArg);
+            } catch (NumberFormatException e) {
+                System.err.println("Error: --seed must be an integer.");
+                System.exit(1);
+            }
+        }
+
+        if (saveArg != null) {
+            if (jrnlArg != null) {
+                System.err.println("Error: a resumed game cannot be journaled.");
+                System.exit(1);
+            }
+            play(resume(Paths.get(saveArg)), null);
+            return;
+        }
+
         // ── Validate arguments ────────────────────────────────────────────────
         if (args.length < 1) {
-            System.err.println("Usage: java Deadwood <numPlayers> [boardXML] [cardsXML]");
+            System.err.println("Usage: java Deadwood <numPlayers> [boardXML] [cardsXML]"
+                + " [--seed <n>] [--journal <file>]");
+            System.err.println("       java Deadwood <numPlayers> [boardXML] [cardsXML]"
+                + " --script <file> [--script <file> …] [--threads <n>] [--seed <n>]");
+            System.err.println("       java Deadwood --resume <file>");
+            System.err.println("       java Deadwood --compile-catalog [boardXML] [cardsXML]");
             System.exit(1);
         }
 
+        if (args[0].equals("--compile-catalog")) {
+            compileCatalog(args.length >= 2 ? args[1] : DEFAULT_BOARD,
+                           args.length >= 3 ? args[2] : DEFAULT_CARDS);
+            return;
+        }
+
         int numPlayers;
         try {
             numPlayers = Integer.parseInt(args[0]);
@@ -60,19 +121,39 @@ public class Deadwood {
         String boardFile = args.length >= 2 ? args[1] : DEFAULT_BOARD;
         String cardsFile = args.length >= 3 ? args[2] : DEFAULT_CARDS;
 
+        if (!scripts.isEmpty()) {
+            runScripts(scripts, numPlayers, boardFile, cardsFile, seed, thrdArg);
+            return;
+        }
+
         // ── Initialise game ───────────────────────────────────────────────────
-        GameManager gm = new GameManager();
+        GameManager    gm      = new GameManager();
+        CommandJournal journal = null;
+        gm.setMetrics(EngineMetrics.GLOBAL);
         try {
-            gm.setup(numPlayers, boardFile, cardsFile);
+            if (jrnlArg != null) {
+                journal = new CommandJournal(Paths.get(jrnlArg),
+                                             Catalog.load(boardFile, cardsFile));
+                gm.setJournal(journal.newRecorder());
+            }
+            if (seed != null) gm.setup(numPlayers, boardFile, cardsFile, seed);
+            else              gm.setup(numPlayers, boardFile, cardsFile);
         } catch (Exception e) {
             System.err.println("Failed to load game data: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
 
-        // ── Game loop ─────────────────────────────────────────────────────────
+        play(gm, journal);
+    }
+
+    // ── Game loop ─────────────────────────────────────────────────────────────
+
+    /** Reads console commands until the game ends or input runs out. */
+    private static void play(GameManager gm, CommandJournal journal) {
+        EngineMetrics.registerMBean();
         Scanner scanner = new Scanner(System.in);
-        printHelp();
+        printHelp(System.out);
 
         while (!gm.isGameOver()) {
             System.out.print("> ");
@@ -82,25 +163,119 @@ public class Deadwood {
             String input = scanner.nextLine().trim();
             if (input.isEmpty()) continue;
 
-            processInput(input, gm);
+            processInput(input, gm, System.out);
         }
 
         scanner.close();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Failed to write journal: " + e.getMessage());
+            }
+        }
+    }
+
+    // ── Script mode ───────────────────────────────────────────────────────────
+
+    /** Runs command scripts (see ScriptRunner) and exits 1 if any failed. */
+    private static void runScripts(List<Path> scripts, int numPlayers, String boardFile,
+                                   String cardsFile, Long seed, String threadsArg) {
+        int failed;
+        try {
+            int threads = threadsArg != null ? Integer.parseInt(threadsArg)
+                                             : Runtime.getRuntime().availableProcessors();
+            ScriptRunner runner = new ScriptRunner(numPlayers,
+                                                   Catalog.load(boardFile, cardsFile), seed);
+            long start = System.nanoTime();
+            failed = runner.runAll(scripts, threads, System.out);
+            System.err.printf("%d script(s), %d commands in %.2f s%n", scripts.size(),
+                runner.commandCount(), (System.nanoTime() - start) / 1e9);
+        } catch (NumberFormatException e) {
+            System.err.println("Error: --threads must be an integer.");
+            failed = 1;
+        } catch (Exception e) {
+            System.err.println("Script run failed: " + e.getMessage());
+            failed = 1;
+        }
+        if (failed > 0) System.exit(1);
+    }
+
+    // ── Snapshots ─────────────────────────────────────────────────────────────
+
+    /**
+     * Handles 'save [file]': writes a snapshot of the game.
+     * @param file File name as typed, or null for DEFAULT_SAVE
+     */
+    static void save(GameManager gm, String file, PrintStream out) {
+        try {
+            GameSnapshot.write(gm, Paths.get(file != null ? file : DEFAULT_SAVE));
+            out.println("Game saved to " + file + ".");
+        } catch (IOException | InvalidPathException e) {
+            out.println("Could not save the game: " + e.getMessage());
+        }
+    }
+
+    /** Restores a saved game, or exits if the snapshot cannot be read. */
+    private static GameManager resume(Path file) {
+        try {
+            long        start = System.nanoTime();
+            GameManager gm    = GameSnapshot.read(file, null, new ConsoleRenderer(System.out));
+            gm.setMetrics(EngineMetrics.GLOBAL);
+            System.out.printf("Resumed %s: day %d of %d, turn %d (%.2f ms).%n", file,
+                gm.getCurrentDay(), gm.getTotalDays(), gm.getTurnCount(),
+                (System.nanoTime() - start) / 1e6);
+            return gm;
+        } catch (Exception e) {
+            System.err.println("Failed to resume game: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    /**
+     * Compiles the binary board/card catalog ahead of time so the first game
+     * does not pay for XML parsing.
+     */
+    private static void compileCatalog(String boardFile, String cardsFile) {
+        try {
+            System.out.println("Catalog written to "
+                + Catalog.compileToCache(boardFile, cardsFile));
+        } catch (Exception e) {
+            System.err.println("Failed to compile catalog: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Removes "name value" from a mutable argument list.
+     * @param args Command-line arguments
+     * @param name Option name, e.g. "--seed"
+     * @return the option's value, or null if it is absent
+     */
+    static String takeOption(List<String> args, String name) {
+        int i = args.indexOf(name);
+        if (i < 0 || i + 1 >= args.size()) return null;
+        args.remove(i);
+        return args.remove(i);
     }
 
     // ── Input processing ──────────────────────────────────────────────────────
 
     /**
      * Parses one line of user input and dispatches to the appropriate
-     * GameManager command.
+     * GameManager command.  Game output goes to the manager's event sink;
+     * usage, help and unknown-command text goes to out (the console, or a
+     * network session's buffer).
      *
      * @param input Raw input line
      * @param gm    The active GameManager
+     * @param out   Stream for the parser's own messages
      */
-    private static void processInput(String input, GameManager gm) {
+    static void processInput(String input, GameManager gm, PrintStream out) {
         // Normalise: lower-case, collapse whitespace
         String lower = input.toLowerCase().trim();
-        String[] tokens = lower.split("\\s+");
+        String[] tokens = tokenize(lower);
         String cmd   = tokens[0];
 
         // ── "end game" / "quit" ───────────────────────────────────────────────
@@ -134,15 +309,35 @@ public class Deadwood {
                 gm.cmdUpgrades();
                 break;
 
+            case "plan": {
+                // Expected: plan [rank]
+                try {
+                    gm.cmdPlan(tokens.length >= 2 ? Integer.parseInt(tokens[1]) : 0);
+                } catch (NumberFormatException e) {
+                    out.println("Usage: plan [rank]  (rank must be a number)");
+                }
+                break;
+            }
+
             case "help":
-                printHelp();
+                printHelp(out);
+                break;
+
+            case "save":
+                // Keep the file name's case from the raw input
+                save(gm, tokens.length >= 2 ? extractArgument(input, "save") : null, out);
+                break;
+
+            case "stats":
+                gm.flushMetrics();
+                out.print(EngineMetrics.GLOBAL.getReport());
                 break;
 
             // ── Action commands ───────────────────────────────────────────────
 
             case "move": {
                 if (tokens.length < 2) {
-                    System.out.println("Usage: move <room name>");
+                    out.println("Usage: move <room name>");
                 } else {
                     // Reconstruct the original-cased destination from raw input
                     String dest = extractArgument(input, "move");
@@ -154,7 +349,7 @@ public class Deadwood {
             case "work":
             case "role": {
                 if (tokens.length < 2) {
-                    System.out.println("Usage: work <role name>");
+                    out.println("Usage: work <role name>");
                 } else {
                     String roleName = extractArgument(input, tokens[0]);
                     gm.cmdWork(roleName);
@@ -174,14 +369,14 @@ public class Deadwood {
             case "upgrade": {
                 // Expected: upgrade <level> <dollar|credit>
                 if (tokens.length < 3) {
-                    System.out.println("Usage: upgrade <level> <dollar|credit>");
+                    out.println("Usage: upgrade <level> <dollar|credit>");
                 } else {
                     try {
                         int    level    = Integer.parseInt(tokens[1]);
                         String currency = tokens[2];
                         gm.cmdUpgrade(level, currency);
                     } catch (NumberFormatException e) {
-                        System.out.println("Usage: upgrade <level> <dollar|credit>"
+                        out.println("Usage: upgrade <level> <dollar|credit>"
                             + "  (level must be a number)");
                     }
                 }
@@ -198,7 +393,7 @@ public class Deadwood {
                 break;
 
             default:
-                System.out.println("Unknown command: \"" + cmd
+                out.println("Unknown command: \"" + cmd
                     + "\".  Type 'help' for a list of commands.");
         }
     }
@@ -218,10 +413,38 @@ public class Deadwood {
         return remainder;
     }
 
+    /**
+     * Splits a trimmed line on whitespace without a regular expression.
+     * @return The tokens; a blank line gives one empty token, like split()
+     */
+    static String[] tokenize(String line) {
+        int n   = 0;
+        int len = line.length();
+        for (int i = 0; i < len; ) {
+            while (i < len && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == len) break;
+            n++;
+            while (i < len && !Character.isWhitespace(line.charAt(i))) i++;
+        }
+        if (n == 0) return new String[] { "" };
+
+        String[] tokens = new String[n];
+        int      t      = 0;
+        for (int i = 0; i < len; ) {
+            while (i < len && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == len) break;
+            int start = i;
+            while (i < len && !Character.isWhitespace(line.charAt(i))) i++;
+            tokens[t++] = line.substring(start, i);
+        }
+        return tokens;
+    }
+
     // ── Help text ─────────────────────────────────────────────────────────────
 
-    private static void printHelp() {
-        System.out.println(
+    /** Prints the command list. */
+    static void printHelp(PrintStream out) {
+        out.println(
             "\n--- Deadwood Commands ---\n"
           + "  who                         active player info\n"
           + "  where                        active player location\n"
@@ -233,8 +456,11 @@ public class Deadwood {
           + "  upgrade <rank> <dollar|credit>   upgrade rank at Casting Office\n"
           + "  roles                        list roles at current location\n"
           + "  upgrades                     list upgrade costs (at Casting Office)\n"
+          + "  plan [rank]                  cheapest way to a rank, or best upgrade\n"
           + "  end                          end your turn\n"
           + "  end game / quit              force-end the game\n"
+          + "  save [file]                  snapshot the game (resume with --resume)\n"
+          + "  stats                        engine metrics (commands, wraps, latency)\n"
           + "  help                         show this list\n"
         );
     }
@@ -0,0 +1,126 @@
+/**
+ * The scene-card deck of one game, as card ids rather than SceneCard objects.
+ *
+ * Cards leave the deck when they are dealt: a card is either still in the
+ * draw pile, on a set today, or discarded (dealt on an earlier day).  Each
+ * of the three groups is a long bitmask over card ids, so the whole deck
+ * state is STATE_WORDS longs and saving, restoring or cloning it is a copy
+ * of three words.
+ *
+ * deal() lays the draw pile out as short card ids in ascending order and
+ * runs a partial Fisher–Yates over it – one swap per card dealt, not per
+ * card in the deck – writing into a preallocated array, so dealing
+ * allocates nothing.  Because the pile is rebuilt from its mask every
+ * deal, the next deal depends only on the masks and the random stream,
+ * and a restored deck deals exactly what the original would have.
+ *
+ * When the draw pile cannot cover a deal (a board with more set-days than
+ * cards), the discards are shuffled back in first.
+ *
+ * A deck holds at most MAX_CARDS cards.  Not thread-safe; owned by one
+ * GameManager.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public final class Deck {
+
+    /** Masks are longs, so a deck holds at most 64 cards */
+    public static final int MAX_CARDS = Long.SIZE;
+
+    /** Longs written by save() / read by load() */
+    public static final int STATE_WORDS = 3;
+
+    private final int     size;
+    private final long    all;        // bit c set for every card id c
+    private final short[] pile;       // scratch for deal()
+
+    private long undealt;             // bit c ⇔ card c is in the draw pile
+    private long onTable;             // bit c ⇔ card c was dealt today
+    private long discarded;           // bit c ⇔ card c was dealt on an earlier day
+
+    /**
+     * Creates a full deck of card ids 0 … size-1.
+     * @param size Number of cards (at most MAX_CARDS)
+     */
+    public Deck(int size) {
+        if (size > MAX_CARDS) {
+            throw new IllegalStateException("A deck holds at most " + MAX_CARDS + " cards");
+        }
+        this.size    = size;
+        this.all     = size == MAX_CARDS ? -1L : (1L << size) - 1;
+        this.pile    = new short[size];
+        this.undealt = all;
+    }
+
+    // ── Dealing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Discards today's cards and deals up to n new ones.
+     * @param rng Stream the draws come from
+     * @param n   Cards wanted (one per set)
+     * @param out Receives the dealt card ids, out[0 … returned-1]
+     * @return number of cards dealt (less than n only if the whole deck is smaller)
+     */
+    public int deal(RngStream rng, int n, int[] out) {
+        discarded |= onTable;
+        onTable    = 0;
+        if (Long.bitCount(undealt) < n) {              // pile exhausted: reshuffle
+            undealt  |= discarded;
+            discarded = 0;
+        }
+
+        int left = 0;
+        for (long m = undealt; m != 0; m &= m - 1) {
+            pile[left++] = (short) Long.numberOfTrailingZeros(m);
+        }
+
+        int dealt = Math.min(n, left);
+        for (int k = 0; k < dealt; k++, left--) {      // partial Fisher–Yates
+            int   j    = rng.nextInt(left);
+            short card = pile[j];
+            pile[j]        = pile[left - 1];
+            pile[left - 1] = card;
+            out[k]         = card;
+            undealt &= ~(1L << card);
+            onTable |=   1L << card;
+        }
+        return dealt;
+    }
+
+    // ── State ─────────────────────────────────────────────────────────────────
+
+    /** @return number of card ids in this deck */
+    public int size() { return size; }
+
+    /** @return bitmask of cards still in the draw pile */
+    public long getUndealt()   { return undealt;   }
+
+    /** @return bitmask of cards dealt today */
+    public long getOnTable()   { return onTable;   }
+
+    /** @return bitmask of cards dealt on earlier days */
+    public long getDiscarded() { return discarded; }
+
+    /** @return cards left in the draw pile */
+    public int remaining() { return Long.bitCount(undealt); }
+
+    /**
+     * Writes the deck state.
+     * @param dst Receives STATE_WORDS longs at off
+     */
+    public void save(long[] dst, int off) {
+        dst[off]     = undealt;
+        dst[off + 1] = onTable;
+        dst[off + 2] = discarded;
+    }
+
+    /**
+     * Restores a state written by save().
+     * @param src Holds STATE_WORDS longs at off
+     */
+    public void load(long[] src, int off) {
+        undealt   = src[off]     & all;
+        onTable   = src[off + 1] & all;
+        discarded = src[off + 2] & all;
+    }
+}
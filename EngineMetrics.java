@@ -0,0 +1,334 @@
+/**
+ * Engine-wide counters and latency histograms, exposed over JMX.
+ *
+ * GameManagers report into an EngineMetrics through their own Probe (see
+ * GameManager.setMetrics): every command, scene wrap, day start and day
+ * end is counted, and calls are timed into a lock-free log-linear
+ * LatencyHistogram.  A command costs ~150 ns in simulation, so a probe's
+ * per-call work is one array increment and one countdown; everything else
+ * happens at a checkpoint, at most every FLUSH_EVERY calls, which
+ * publishes the plain-field counts to the shared LongAdders.  A game also
+ * publishes when it ends, and a report on a live game pulls the rest with
+ * flush() (GameManager.flushMetrics).
+ *
+ * Sampling is per thread, not per game: checkpoints advance a counter
+ * kept per thread, and one call in SAMPLE_EVERY on a busy thread is timed
+ * (the countdown ends early at that call).  A thread counts as idle – an
+ * interactive console, a quiet server – once a sample comes more than
+ * IDLE_NANOS after the previous one, and then times every call until
+ * BUSY_SAMPLES samples in a row come quicker, so a slow stream of
+ * commands is timed in full.
+ * Nothing here takes a lock; any number of games on any number of threads
+ * can share one instance.
+ *
+ * Derived figures: commands/sec since start (or reset), wraps per day,
+ * days per finished game and the mean number of turns from deal to wrap.
+ *
+ * GLOBAL is the instance the console, the servers and the Simulator use;
+ * registerMBean() publishes it as "deadwood:type=EngineMetrics".
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public final class EngineMetrics implements EngineMetricsMBean {
+
+    /** JMX name of GLOBAL once registered. */
+    public static final String OBJECT_NAME = "deadwood:type=EngineMetrics";
+
+    /** Most operations a probe counts locally before publishing. */
+    static final int FLUSH_EVERY  = 256;
+
+    /** One in this many calls per busy thread is timed. */
+    static final int SAMPLE_EVERY = 512;
+
+    /** Gap between samples after which a thread counts as idle (time every call). */
+    static final long IDLE_NANOS = 1_000_000;
+
+    /** Samples in a row under IDLE_NANOS apart after which a thread counts as busy. */
+    static final int BUSY_SAMPLES = 64;
+
+    // ── Operations ────────────────────────────────────────────────────────────
+    static final int MOVE      = 0;
+    static final int WORK      = 1;
+    static final int ACT       = 2;
+    static final int REHEARSE  = 3;
+    static final int UPGRADE   = 4;
+    static final int END       = 5;
+    static final int QUIT      = 6;
+    static final int INFO      = 7;   // who, where, board, roles, upgrades
+    static final int WRAP      = 8;   // handleSceneWrap
+    static final int START_DAY = 9;
+    static final int END_DAY   = 10;  // includes the next startDay/endGame
+
+    static final int COMMANDS = INFO + 1;
+
+    private static final String[] NAMES = { "move", "work", "act", "rehearse", "upgrade",
+        "end", "quit", "info", "wrap", "startDay", "endDay" };
+
+    /** Shared instance used by the programs in this project. */
+    public static final EngineMetrics GLOBAL = new EngineMetrics();
+
+    private final LongAdder[]        counts      = new LongAdder[NAMES.length];
+    private final LatencyHistogram[] latencies   = new LatencyHistogram[NAMES.length];
+    private final LongAdder          games       = new LongAdder();
+    private final LongAdder          turns       = new LongAdder();
+    private final LongAdder          turnsToWrap = new LongAdder();
+
+    private volatile long startNanos = System.nanoTime();
+
+    public EngineMetrics() {
+        for (int i = 0; i < NAMES.length; i++) {
+            counts[i]    = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /** @return a new per-game probe reporting into this instance */
+    public Probe newProbe() { return new Probe(this); }
+
+    /** Publishes GLOBAL on the platform MBean server (idempotent). */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(GLOBAL, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // already published
+        } catch (JMException e) {
+            System.err.println("Metrics MBean not registered: " + e.getMessage());
+        }
+    }
+
+    // ── Per-game probe ────────────────────────────────────────────────────────
+
+    /** A thread's sampling state, shared by every probe that runs on it. */
+    private static final class Sampler {
+        long tick;                         // ops counted on this thread
+        long next;                         // tick of the next op to time
+        long last = Long.MIN_VALUE / 2;    // nanoTime of the last timed op
+        int  busy;                         // samples in a row < IDLE_NANOS apart
+    }
+
+    private static final ThreadLocal<Sampler> SAMPLERS = ThreadLocal.withInitial(Sampler::new);
+
+    /**
+     * A game's handle on the shared metrics: the not yet published counts
+     * and a countdown to its next checkpoint.  Confined to the game's
+     * thread like the game itself.
+     */
+    public static final class Probe {
+        private final EngineMetrics metrics;
+        private final long[]        seen      = new long[NAMES.length];
+        private final long[]        published = new long[NAMES.length];
+        private int                 window    = 1;   // ops from one checkpoint to the next
+        private int                 countdown = 1;   // ops left until the next checkpoint
+        private long                pendingTurns;
+        private long                pendingTurnsToWrap;
+
+        private Probe(EngineMetrics metrics) { this.metrics = metrics; }
+
+        /**
+         * Counts one op.
+         * @return a start timestamp if this call is sampled (then call
+         *         end()), else 0
+         */
+        long begin(int op) {
+            seen[op]++;
+            return --countdown > 0 ? 0 : checkpoint();
+        }
+
+        /**
+         * Runs every FLUSH_EVERY ops, or sooner when the thread's next sample
+         * is due: publishes the counts, moves the thread's counter on by the
+         * ops since the last checkpoint and times this op if it is due.
+         */
+        private long checkpoint() {
+            flush();
+            Sampler s     = SAMPLERS.get();
+            long    start = 0;
+            s.tick += window;
+            if (s.tick >= s.next) {
+                start  = System.nanoTime();
+                s.busy = start - s.last > IDLE_NANOS ? 0 : s.busy + 1;
+                s.next = s.tick + (s.busy < BUSY_SAMPLES ? 1 : SAMPLE_EVERY);
+                s.last = start;
+            }
+            countdown = window = (int) Math.min(FLUSH_EVERY, s.next - s.tick);
+            return start;
+        }
+
+        /** Records the latency of an op sampled by begin(). */
+        void end(int op, long start) {
+            metrics.latencies[op].record(System.nanoTime() - start);
+        }
+
+        void turnEnded()             { pendingTurns++;             }
+        void sceneWrapped(int turns) { pendingTurnsToWrap += turns; }
+
+        void gameEnded() {
+            metrics.games.increment();
+            flush();
+            SAMPLERS.get().tick += window - countdown;   // hand the ops counted so far to the thread
+            window = countdown;
+        }
+
+        /** Publishes the pending counts to the shared adders. */
+        void flush() {
+            for (int i = 0; i < seen.length; i++) {
+                if (seen[i] != published[i]) {
+                    metrics.counts[i].add(seen[i] - published[i]);
+                    published[i] = seen[i];
+                }
+            }
+            if (pendingTurns != 0) {
+                metrics.turns.add(pendingTurns);
+                pendingTurns = 0;
+            }
+            if (pendingTurnsToWrap != 0) {
+                metrics.turnsToWrap.add(pendingTurnsToWrap);
+                pendingTurnsToWrap = 0;
+            }
+        }
+    }
+
+    // ── MBean attributes ──────────────────────────────────────────────────────
+
+    @Override
+    public long getCommandCount() {
+        long n = 0;
+        for (int i = 0; i < COMMANDS; i++) n += counts[i].sum();
+        return n;
+    }
+
+    @Override
+    public double getCommandsPerSecond() {
+        double secs = (System.nanoTime() - startNanos) / 1e9;
+        return secs > 0 ? getCommandCount() / secs : 0;
+    }
+
+    @Override public long getSceneWraps() { return counts[WRAP].sum();      }
+    @Override public long getDays()       { return counts[START_DAY].sum(); }
+    @Override public long getGames()      { return games.sum();             }
+    @Override public long getTurns()      { return turns.sum();             }
+
+    @Override
+    public double getWrapsPerDay() {
+        long days = getDays();
+        return days == 0 ? 0 : (double) getSceneWraps() / days;
+    }
+
+    @Override
+    public double getDaysPerGame() {
+        long games = getGames();
+        return games == 0 ? 0 : (double) getDays() / games;
+    }
+
+    @Override
+    public double getMeanTurnsToWrap() {
+        long wraps = getSceneWraps();
+        return wraps == 0 ? 0 : (double) turnsToWrap.sum() / wraps;
+    }
+
+    @Override
+    public String[] getLatencies() {
+        String[] lines = new String[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) lines[i] = latencyLine(i);
+        return lines;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("--- Engine metrics ---%n"));
+        sb.append(String.format("  commands        %d (%.0f/sec)%n",
+                                getCommandCount(), getCommandsPerSecond()));
+        sb.append(String.format("  games / days    %d / %d (%.2f days per game)%n",
+                                getGames(), getDays(), getDaysPerGame()));
+        sb.append(String.format("  scene wraps     %d (%.2f per day, %.2f turns from deal)%n",
+                                getSceneWraps(), getWrapsPerDay(), getMeanTurnsToWrap()));
+        sb.append(String.format("  latency (µs, ≥1 in %d sampled)  count      p50      p99      max%n",
+                                SAMPLE_EVERY));
+        for (int i = 0; i < NAMES.length; i++) {
+            if (counts[i].sum() > 0) sb.append("  ").append(latencyLine(i)).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private String latencyLine(int op) {
+        LatencyHistogram h = latencies[op];
+        return String.format("%-30s %8d %8.2f %8.2f %8.2f", NAMES[op], counts[op].sum(),
+                             h.quantile(0.50) / 1e3, h.quantile(0.99) / 1e3, h.max() / 1e3);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < NAMES.length; i++) {
+            counts[i].reset();
+            latencies[i].reset();
+        }
+        games.reset();
+        turns.reset();
+        turnsToWrap.reset();
+        startNanos = System.nanoTime();
+    }
+
+    // ── Histogram ─────────────────────────────────────────────────────────────
+
+    /**
+     * Lock-free log-linear histogram of nanosecond values: each power of two
+     * is split into SUB linear buckets (≤ 12.5% relative error), counted
+     * in an AtomicLongArray.  Quantiles report a bucket's upper bound.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BITS = 3;
+        private static final int SUB      = 1 << SUB_BITS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB);
+        private final LongAdder       total   = new LongAdder();
+        private volatile long         max;
+
+        void record(long nanos) {
+            buckets.incrementAndGet(index(Math.max(nanos, 1)));
+            total.increment();
+            if (nanos > max) max = nanos;          // racy max: close enough
+        }
+
+        static int index(long v) {
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            if (exp < SUB_BITS) return (int) v;
+            return (exp - SUB_BITS + 1) * SUB + (int) ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB) return index;
+            int exp = index / SUB + SUB_BITS - 1;
+            long sub = index % SUB;
+            return ((SUB + sub + 1) << (exp - SUB_BITS)) - 1;
+        }
+
+        long quantile(double q) {
+            long n = total.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(q * n);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return Math.min(upperBound(i), max);
+            }
+            return max;
+        }
+
+        long max() { return max; }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+            total.reset();
+            max = 0;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * JMX management interface of EngineMetrics ("deadwood:type=EngineMetrics").
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public interface EngineMetricsMBean {
+
+    /** @return game commands executed (moves, acts, info queries, …) */
+    long getCommandCount();
+
+    /** @return commands per second since start or the last reset */
+    double getCommandsPerSecond();
+
+    long getSceneWraps();
+    long getDays();
+    long getGames();
+    long getTurns();
+
+    double getWrapsPerDay();
+    double getDaysPerGame();
+
+    /** @return mean turns between a scene being dealt and wrapping */
+    double getMeanTurnsToWrap();
+
+    /** @return one line per operation: count and p50/p99/max latency (µs) */
+    String[] getLatencies();
+
+    /** @return the same text as the console 'stats' command */
+    String getReport();
+
+    /** Zeroes every counter and histogram. */
+    void reset();
+}
@@ -0,0 +1,131 @@
+/**
+ * Receives every observable event a GameManager produces.
+ *
+ * GameManager never prints directly; it reports what happened through one
+ * typed callback per event and the sink decides how (or whether) to show
+ * it.  Every method has an empty default body, so an implementation only
+ * overrides the events it cares about and ignored events cost a single
+ * virtual call with no string building.
+ *
+ * Implementations:
+ *   ConsoleRenderer – renders the classic console text to a PrintStream
+ *   BufferedSink    – renders the same text into a drainable buffer
+ *   NullSink        – discards everything (headless simulation)
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+
+public interface GameEventSink {
+
+    // ── Game / day lifecycle ──────────────────────────────────────────────────
+
+    /** A new game has been set up. */
+    default void gameStarted(int numPlayers, int totalDays) {}
+
+    /** A day begins (before cards are dealt). */
+    default void dayStarted(int day) {}
+
+    /** Scene cards are on the sets and all players are back in the Trailer. */
+    default void cardsDealt() {}
+
+    /** It is now this player's turn. */
+    default void activePlayerChanged(Player p) {}
+
+    /** Only activeSets scenes are left, so the current day is about to end. */
+    default void lastScenesRemaining(int activeSets) {}
+
+    /** A day has ended. */
+    default void dayEnded(int day) {}
+
+    /**
+     * The game is over.
+     * @param players   All players in seat order (final state)
+     * @param winner    First player with the highest score
+     * @param highScore The winning score
+     */
+    default void gameEnded(List<Player> players, Player winner, int highScore) {}
+
+    /** A player asked to end the game early. */
+    default void gameQuit() {}
+
+    // ── Turn actions ──────────────────────────────────────────────────────────
+
+    /** The active player moved to dest. */
+    default void playerMoved(Player p, Room dest) {}
+
+    /** The active player took a role. */
+    default void roleTaken(Player p, Role role) {}
+
+    /** The active player rolled to act: roll + chips versus budget. */
+    default void actRolled(Player p, int roll, int chips, int budget) {}
+
+    /** The act succeeded; one take was removed from the set. */
+    default void actSucceeded(Player p, Role role, int takesRemaining) {}
+
+    /** The act failed; no reward. */
+    default void actFailed(Player p) {}
+
+    /** The active player rehearsed and now holds chips rehearsal chips. */
+    default void rehearsed(Player p, int chips) {}
+
+    /** The active player bought a rank upgrade. */
+    default void upgraded(Player p, int oldRank, Upgrade u) {}
+
+    /** The active player ended their turn. */
+    default void turnEnded(Player p) {}
+
+    // ── Scene wrap ────────────────────────────────────────────────────────────
+
+    /** The last take on a set was removed and its scene wraps. */
+    default void sceneWrapped(Set set, SceneCard card) {}
+
+    /** Budget dice rolled for the payout, in roll order. */
+    default void payoutRolled(int[] dice) {}
+
+    /** One payout die was paid to a starring player. */
+    default void payoutReceived(Player p, int amount) {}
+
+    /** Nobody was working an on-card role, so no payout was made. */
+    default void payoutSkipped(Set set) {}
+
+    /** Every player at the set was released from their role. */
+    default void playersReleased(Set set) {}
+
+    // ── Information requests ──────────────────────────────────────────────────
+
+    /** 'who' – show the player's summary. */
+    default void showPlayer(Player p) {}
+
+    /** 'where' – show the player's location (and role, if any). */
+    default void showLocation(Player p) {}
+
+    /** 'board' – show every player's location; active is marked. */
+    default void showBoard(List<Player> players, Player active) {}
+
+    /** 'roles' – list the roles at a set for a player of the given rank. */
+    default void showRoles(Set set, int playerRank) {}
+
+    /** 'upgrades' – list upgrades above the given rank. */
+    default void showUpgrades(CastingOffice office, int playerRank) {}
+
+    /**
+     * 'plan' – an upgrade plan for the player.
+     * @param targetRank Rank asked for, or 0 for the best-score plan
+     * @param plan       The plan, or null if targetRank is out of reach
+     */
+    default void showUpgradePlan(Player p, CastingOffice office, int targetRank,
+                                 UpgradePlanner.Plan plan) {}
+
+    // ── Rejections ────────────────────────────────────────────────────────────
+
+    /** A command was refused; reason explains why. */
+    default void commandRejected(String reason) {}
+
+    /** 'work' named a role that is missing or taken; the roles are listed. */
+    default void roleUnavailable(String roleName, Set set, int playerRank) {}
+
+    /** 'upgrade' named a level/currency the office does not offer. */
+    default void upgradeUnavailable(int level, String currency,
+                                    CastingOffice office, int playerRank) {}
+}
@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 public class GameManager {
 
@@ -27,37 +26,169 @@ public class GameManager {
         {"blue", "cyan", "green", "orange", "pink", "red", "violet", "yellow"};
     private static final int TOTAL_SETS = 10;
 
+    /** Largest supported table (one player per colour) */
+    public static final int MAX_PLAYERS = PLAYER_COLORS.length;
+
     // ── Core state ────────────────────────────────────────────────────────────
+    private Catalog          catalog;
     private Board            board;
-    private List<SceneCard>  deck;
+    private Deck             deck;        // draw pile / dealt / discarded card ids
+    private List<SceneCard>  cardsById;   // the game's cards; index = card id
+    private int[]            dealt;       // card ids from the last Deck.deal
     private List<Player>     players;
     private int              currentPlayerIndex;
     private int              currentDay;
     private int              totalDays;
+    private int              turnCount;   // turns ended so far this game
+    private int              dayStartTurn; // turnCount when today's cards were dealt
     private boolean          gameOver;
-    private final Random     rng = new Random();
+
+    // ── Randomness (one stream per purpose, split from the seed) ──────────────
+    private long             seed;
+    private RngStream        shuffleRng;  // card deals (startDay)
+    private RngStream        actRng;      // act rolls (cmdAct)
+    private RngStream        payoutRng;   // wrap payout dice (handleSceneWrap)
+    private RngStream        botRng;      // seeds for the game's bots (not saved)
+
+    /** Receives every game event (console text unless replaced) */
+    private GameEventSink    events = new ConsoleRenderer(System.out);
+
+    /** Records prior values of every mutation when set (search support) */
+    private UndoLog          undo;
+
+    /** Casting Office planner, built on first use (see getUpgradePlanner) */
+    private UpgradePlanner   planner;
+
+    /** Scratch list of starring players reused by handleSceneWrap */
+    private Player[]         starring = new Player[0];
+
+    /** Reused by legalActions(); handed out through the read-only view */
+    private final List<Action> legal     = new ArrayList<>();
+    private final List<Action> legalView = Collections.unmodifiableList(legal);
+
+    /** Records accepted commands when set (replay / dispute resolution) */
+    private CommandJournal.Recorder journal;
+
+    /** Counts and samples command latencies when set (see EngineMetrics) */
+    private EngineMetrics.Probe     metrics;
 
     /** @return true if the game has ended */
     public boolean isGameOver() { return gameOver; }
 
+    /**
+     * Replaces the event sink, e.g. with NullSink.INSTANCE for headless
+     * simulation.  Must be called before setup() to catch the welcome events.
+     * @param events Sink that receives every event GameManager emits
+     */
+    public void setEventSink(GameEventSink events) { this.events = events; }
+
+    /** @return the sink currently receiving game events */
+    public GameEventSink getEventSink() { return events; }
+
+    /**
+     * Journals this game: its seed and setup, every accepted command and
+     * the final scores (see CommandJournal).  Must be called before setup().
+     * @param recorder Recorder from CommandJournal.newRecorder(), or null
+     */
+    public void setJournal(CommandJournal.Recorder recorder) { this.journal = recorder; }
+
+    /**
+     * Reports this game's commands, wraps and days to a metrics instance.
+     * @param metrics Shared metrics (usually EngineMetrics.GLOBAL), or null
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics == null ? null : metrics.newProbe();
+    }
+
+    /** Publishes this game's not yet reported counts (call before a metrics report). */
+    public void flushMetrics() {
+        if (metrics != null) metrics.flush();
+    }
+
+    /**
+     * Counts op with this game's probe, if it has one.
+     * @return a start time for endOp() if the call is sampled, else 0
+     */
+    private long beginOp(int op) {
+        return metrics != null ? metrics.begin(op) : 0;
+    }
+
+    /** Records the latency of an op that beginOp sampled. */
+    private void endOp(int op, long start) {
+        if (start != 0) metrics.end(op, start);
+    }
+
+    /** As endOp(int, long), passing a command's result through. */
+    private CommandResult endOp(int op, long start, CommandResult result) {
+        if (start != 0) metrics.end(op, start);
+        return result;
+    }
+
     // ── Setup ─────────────────────────────────────────────────────────────────
 
     /**
      * Initialises the game for the given number of players.
-     * Parses XML, creates players, and starts day 1.
+     * Loads the board/card catalog (compiled from the XML on first use and
+     * cached on disk), creates players, and starts day 1.
      *
      * @param numPlayers 2–8 inclusive
      * @param boardFile  Path to board.xml
      * @param cardsFile  Path to cards.xml
-     * @throws Exception on XML parse failure
+     * @throws Exception on XML parse or catalog I/O failure
      */
     public void setup(int numPlayers, String boardFile, String cardsFile)
             throws Exception {
+        setup(numPlayers, Catalog.load(boardFile, cardsFile));
+    }
+
+    /**
+     * As setup(numPlayers, boardFile, cardsFile) with a fixed seed.
+     * @param seed Game seed (see setup(int, Catalog, long))
+     */
+    public void setup(int numPlayers, String boardFile, String cardsFile, long seed)
+            throws Exception {
+        setup(numPlayers, Catalog.load(boardFile, cardsFile), seed);
+    }
+
+    /**
+     * As setup(numPlayers, catalog, seed) with a fresh, unpredictable seed.
+     */
+    public void setup(int numPlayers, Catalog catalog) {
+        setup(numPlayers, catalog, System.nanoTime() ^ Thread.currentThread().getId() << 48);
+    }
 
-        // ── Parse XML ────────────────────────────────────────────────────────
-        XMLParser parser = new XMLParser();
-        board = parser.parseBoard(boardFile);
-        deck  = parser.parseCards(cardsFile);
+    /**
+     * Initialises the game from an already loaded catalog.  The game gets
+     * its own Board and deck, so one catalog can back many games at once.
+     *
+     * The seed fixes every random outcome: it is split into independent
+     * streams for card deals, act rolls and payout dice, so the same
+     * seed and the same commands replay the game bit for bit, and draws
+     * for one purpose never shift those of another.  A fourth stream seeds
+     * the bots that play the game (see nextBotSeed).
+     *
+     * @param numPlayers 2–8 inclusive
+     * @param catalog    Shared, immutable board/card catalog
+     * @param seed       Game seed
+     */
+    public void setup(int numPlayers, Catalog catalog, long seed) {
+
+        // ── Random streams ────────────────────────────────────────────────────
+        RngStream root = new RngStream(seed);
+        this.seed  = seed;
+        shuffleRng = root.split();
+        actRng     = root.split();
+        payoutRng  = root.split();
+        botRng     = root.split();
+        if (journal != null) journal.begin(numPlayers, seed);
+
+        // ── Instantiate this game's board and deck ────────────────────────────
+        this.catalog = catalog;
+        board = catalog.newBoard();
+        cardsById = catalog.newDeck();
+        for (int i = 0; i < cardsById.size(); i++) cardsById.get(i).setId(i);
+        deck  = new Deck(cardsById.size());
+        dealt = new int[board.getSets().size()];
 
         // ── Player count rules ────────────────────────────────────────────────
         totalDays = (numPlayers <= 3) ? 3 : 4;
@@ -77,27 +208,28 @@ public class GameManager {
 
         currentPlayerIndex = 0;
         currentDay         = 1;
+        turnCount          = 0;
         gameOver           = false;
 
-        System.out.println("=== Welcome to Deadwood! ===");
-        System.out.println("Players: " + numPlayers + "  |  Days: " + totalDays);
+        events.gameStarted(numPlayers, totalDays);
         startDay();
     }
 
     // ── Day management ─────────────────────────────────────────────────────────
 
-    /** Sets up a new day: shuffles deck, deals cards to sets, moves players. */
+    /** Sets up a new day: deals fresh cards to the sets, moves players. */
     private void startDay() {
-        System.out.println("\n--- Day " + currentDay + " begins ---");
+        long start = beginOp(EngineMetrics.START_DAY);
+        events.dayStarted(currentDay);
 
         // Reset all sets
         board.resetAllSets();
 
-        // Shuffle deck and deal one card to each set
-        Collections.shuffle(deck, rng);
+        // Deal one card from the deck to each set
         List<Set> sets = board.getSets();
-        for (int i = 0; i < sets.size() && i < deck.size(); i++) {
-            sets.get(i).setActiveCard(deck.get(i));
+        int       n    = deck.deal(shuffleRng, sets.size(), dealt);
+        for (int i = 0; i < n; i++) {
+            sets.get(i).setActiveCard(cardsById.get(dealt[i]));
         }
 
         // Move all players to trailer and clear role state
@@ -111,15 +243,19 @@ public class GameManager {
             p.resetTurnState();
         }
 
-        System.out.println("Scene cards dealt. All players return to the Trailer.");
+        dayStartTurn = turnCount;
+        events.cardsDealt();
         announceActivePlayer();
+        endOp(EngineMetrics.START_DAY, start);
     }
 
     /**
      * Wraps up the current day and either starts the next one or ends the game.
      */
     private void endDay() {
-        System.out.println("\n--- Day " + currentDay + " ends ---");
+        long start = beginOp(EngineMetrics.END_DAY);
+        rememberAll();
+        events.dayEnded(currentDay);
 
         // Free any players still on roles (no payout for unfinished scenes)
         for (Player p : players) {
@@ -137,35 +273,47 @@ public class GameManager {
             currentPlayerIndex = 0;
             startDay();
         }
+        endOp(EngineMetrics.END_DAY, start);
     }
 
-    /** Prints final scores and declares a winner. */
+    /** Scores the game and declares a winner. */
     private void endGame() {
         gameOver = true;
-        System.out.println("\n============================");
-        System.out.println("         GAME OVER          ");
-        System.out.println("============================");
-        System.out.println("Final Scores (dollars + credits + rank):");
+        if (journal != null) journal.finish(players);
+        if (metrics != null) metrics.gameEnded();
 
         int     highScore  = -1;
         Player  winner     = null;
 
         for (Player p : players) {
             int score = p.getScore();
-            System.out.printf("  %-8s : $%2d + %2dcr + rank %d = %d%n",
-                p.getName(), p.getDollars(), p.getCredits(), p.getRank(), score);
             if (score > highScore) {
                 highScore = score;
                 winner    = p;
             }
         }
 
-        System.out.println("\nWinner: " + winner.getName()
-                           + " with " + highScore + " points!");
+        events.gameEnded(players, winner, highScore);
     }
 
     // ── Turn management ───────────────────────────────────────────────────────
 
+    /**
+     * @param seat Seat index (0 = first player)
+     * @return the colour the player in that seat is named after
+     */
+    public static String seatColor(int seat) { return PLAYER_COLORS[seat]; }
+
+    /** @return the seed this game was set up with */
+    public long getSeed() { return seed; }
+
+    /**
+     * @return a seed for one of this game's bots, drawn from a stream split
+     *         off the game seed, so it never repeats another game's seed or
+     *         dice and is the same on any number of threads
+     */
+    public long nextBotSeed() { return botRng.nextLong(); }
+
     /** @return the player whose turn it currently is */
     public Player activePlayer() {
         return players.get(currentPlayerIndex);
@@ -174,40 +322,268 @@ public class GameManager {
     /** @return a copy of the player list (read-only from outside) */
     public List<Player> getPlayers() { return players; }
 
+    /** @return index (seat) of the player whose turn it currently is */
+    public int getCurrentPlayerIndex() { return currentPlayerIndex; }
+
+    /** @return the catalog this game's board and deck were built from */
+    public Catalog getCatalog() { return catalog; }
+
+    /** @return the board this game is played on */
+    public Board getBoard() { return board; }
+
+    /** @return the current day (1-based) */
+    public int getCurrentDay() { return currentDay; }
+
+    /** @return the number of days this game lasts */
+    public int getTotalDays() { return totalDays; }
+
     private void announceActivePlayer() {
-        System.out.println("\nActive player: " + activePlayer().getName());
+        events.activePlayerChanged(activePlayer());
+    }
+
+    /** @return number of turns ended so far this game */
+    public int getTurnCount() { return turnCount; }
+
+    // ── Primitive state ───────────────────────────────────────────────────────
+
+    /** @return a GameState sized for this game (players, sets, cards) */
+    public GameState newState() {
+        return new GameState(players.size(), board.getSets().size(), cardsById.size());
+    }
+
+    /**
+     * Captures the complete position into a primitive GameState.
+     * @param dst State created by newState() (or of the same shape)
+     */
+    public void saveState(GameState dst) {
+        dst.numPlayers    = players.size();
+        dst.currentPlayer = currentPlayerIndex;
+        dst.day           = currentDay;
+        dst.totalDays     = totalDays;
+        dst.turnCount     = turnCount;
+        dst.dayStartTurn  = dayStartTurn;
+        dst.gameOver      = gameOver;
+
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            dst.rank[i]      = p.getRank();
+            dst.dollars[i]   = p.getDollars();
+            dst.credits[i]   = p.getCredits();
+            dst.location[i]  = p.getLocation().getId();
+            dst.role[i]      = p.isWorking()
+                             ? ((Set) p.getLocation()).slotOf(p.getCurrentRole()) : -1;
+            dst.chips[i]     = p.getRehearsalChips();
+            dst.turnFlags[i] = p.getTurnFlags();
+        }
+
+        List<Set> sets = board.getSets();
+        for (int i = 0; i < sets.size(); i++) {
+            Set set = sets.get(i);
+            dst.takeMask[i] = set.getTakeMask();
+            dst.setCard[i]  = set.getActiveCard() == null ? -1
+                                                          : set.getActiveCard().getId();
+        }
+        deck.save(dst.deck, 0);
+    }
+
+    /**
+     * Replaces the live position with a saved one.  After this call every
+     * command method runs its rules against the loaded position.
+     * @param src State saved from a game with the same catalog and players
+     */
+    public void loadState(GameState src) {
+        if (src.numPlayers != players.size()) {
+            throw new IllegalArgumentException("State is for " + src.numPlayers
+                + " players, game has " + players.size());
+        }
+        currentPlayerIndex = src.currentPlayer;
+        currentDay         = src.day;
+        totalDays          = src.totalDays;
+        turnCount          = src.turnCount;
+        dayStartTurn       = src.dayStartTurn;
+        gameOver           = src.gameOver;
+
+        // Cards, takes and deck; clear every role before re-seating
+        List<Set> sets = board.getSets();
+        for (int i = 0; i < sets.size(); i++) {
+            Set set = sets.get(i);
+            for (Role r : set.getExtras()) r.setOccupiedBy(null);
+            set.restoreState(src.setCard[i] < 0 ? null : cardsById.get(src.setCard[i]),
+                             src.takeMask[i]);
+        }
+        for (SceneCard c : cardsById) c.resetRoles();
+        deck.load(src.deck, 0);
+
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            p.setRank(src.rank[i]);
+            p.setDollars(src.dollars[i]);
+            p.setCredits(src.credits[i]);
+            p.setLocation(board.getRoom(src.location[i]));
+            Role role = src.role[i] < 0 ? null
+                      : ((Set) p.getLocation()).getRoleAt(src.role[i]);
+            p.setCurrentRole(role);
+            if (role != null) role.setOccupiedBy(p);
+            p.setRehearsalChips(src.chips[i]);
+            p.setTurnFlags(src.turnFlags[i]);
+        }
+    }
+
+    /**
+     * Captures where the shuffle, act and payout streams stand, so a saved
+     * game resumes with exactly the dice it would have rolled.
+     * @param dst Receives six longs (two per stream, see RngStream.getState)
+     */
+    public void saveRng(long[] dst) {
+        long[] s = new long[2];
+        RngStream[] streams = { shuffleRng, actRng, payoutRng };
+        for (int i = 0; i < streams.length; i++) {
+            streams[i].getState(s);
+            dst[2 * i]     = s[0];
+            dst[2 * i + 1] = s[1];
+        }
+    }
+
+    /**
+     * Restores stream states captured by saveRng().
+     * @param src Six longs from saveRng()
+     */
+    public void loadRng(long[] src) {
+        RngStream[] streams = { shuffleRng, actRng, payoutRng };
+        for (int i = 0; i < streams.length; i++) {
+            streams[i].setState(new long[] { src[2 * i], src[2 * i + 1] });
+        }
+    }
+
+    // ── Undo ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Enables (or with null, disables) undo recording.  While a log is set,
+     * every command records the prior values of what it changes, so a
+     * depth-first search can apply moves with the normal command methods
+     * and roll them back:
+     *
+     *     int mark = gm.undoMark();
+     *     gm.cmdAct();  gm.cmdEnd();   // … explore …
+     *     gm.undoTo(mark);
+     *
+     * Scene wraps and day transitions (including end of game) are undone
+     * too.  Dice are not rewound: re-applying a move may roll differently.
+     *
+     * @param log Log to record into, or null
+     */
+    public void setUndoLog(UndoLog log) { this.undo = log; }
+
+    /** @return current undo position (requires an undo log) */
+    public int undoMark() { return undo.mark(); }
+
+    /**
+     * Rolls the game back to an earlier undoMark() in O(changes).
+     * @param mark Position returned by undoMark()
+     */
+    public void undoTo(int mark) {
+        while (undo.mark() > mark) {
+            int   off = undo.pop();
+            int[] d   = undo.data();
+            int   idx = d[off + 1];
+            switch (d[off]) {
+                case UndoLog.OP_PLAYER:
+                    restorePlayer(players.get(idx), d, off + 2);
+                    break;
+                case UndoLog.OP_SET: {
+                    Set set = board.getSets().get(idx);
+                    set.restoreState(set.getActiveCard(), d[off + 2]);
+                    break;
+                }
+                case UndoLog.OP_GAME:
+                    currentPlayerIndex = d[off + 2];
+                    turnCount          = d[off + 3];
+                    gameOver           = d[off + 4] != 0;
+                    currentDay         = d[off + 5];
+                    break;
+                default: // OP_CHECKPOINT
+                    loadState(undo.checkpoint(idx));
+            }
+        }
+    }
+
+    /** Records a player's full state before it is mutated. */
+    private void remember(Player p) {
+        if (undo == null) return;
+        int   off = undo.push(UndoLog.OP_PLAYER, players.indexOf(p));
+        int[] d   = undo.data();
+        d[off]     = p.getRank();
+        d[off + 1] = p.getDollars();
+        d[off + 2] = p.getCredits();
+        d[off + 3] = p.getLocation().getId();
+        d[off + 4] = p.isWorking()
+                   ? ((Set) p.getLocation()).slotOf(p.getCurrentRole()) : -1;
+        d[off + 5] = p.getRehearsalChips();
+        d[off + 6] = p.getTurnFlags();
+    }
+
+    /** Records a set's takes before one is removed. */
+    private void remember(Set set) {
+        if (undo == null) return;
+        int off = undo.push(UndoLog.OP_SET, set.getSetIndex());
+        undo.data()[off] = set.getTakeMask();
+    }
+
+    /** Records turn order / day / game-over before they change. */
+    private void rememberGame() {
+        if (undo == null) return;
+        int   off = undo.push(UndoLog.OP_GAME, 0);
+        int[] d   = undo.data();
+        d[off]     = currentPlayerIndex;
+        d[off + 1] = turnCount;
+        d[off + 2] = gameOver ? 1 : 0;
+        d[off + 3] = currentDay;
+    }
+
+    /** Records the whole position before a day transition. */
+    private void rememberAll() {
+        if (undo == null) return;
+        saveState(undo.pushCheckpoint(this));
+    }
+
+    /** Restores a player recorded by remember(Player), fixing role occupancy. */
+    private void restorePlayer(Player p, int[] d, int off) {
+        Role held = p.getCurrentRole();
+        if (held != null && held.getOccupiedBy() == p) held.setOccupiedBy(null);
+
+        p.setRank(d[off]);
+        p.setDollars(d[off + 1]);
+        p.setCredits(d[off + 2]);
+        p.setLocation(board.getRoom(d[off + 3]));
+        Role role = d[off + 4] < 0 ? null
+                  : ((Set) p.getLocation()).getRoleAt(d[off + 4]);
+        p.setCurrentRole(role);
+        if (role != null) role.setOccupiedBy(p);
+        p.setRehearsalChips(d[off + 5]);
+        p.setTurnFlags(d[off + 6]);
     }
 
     // ── Command handlers ──────────────────────────────────────────────────────
 
-    /** who – prints current player info */
+    /** who – shows current player info */
     public void cmdWho() {
-        System.out.println(activePlayer());
+        long start = beginOp(EngineMetrics.INFO);
+        events.showPlayer(activePlayer());
+        endOp(EngineMetrics.INFO, start);
     }
 
-    /** where – prints current player location */
+    /** where – shows current player location */
     public void cmdWhere() {
-        Player p    = activePlayer();
-        Room   loc  = p.getLocation();
-        String desc = loc.getStatusDescription();
-        if (p.isWorking()) {
-            System.out.println(p.getName() + " is in " + desc
-                + " working " + p.getCurrentRole().getName()
-                + ", \"" + p.getCurrentRole().getLine() + "\"");
-        } else {
-            System.out.println(p.getName() + " is in " + desc);
-        }
+        long start = beginOp(EngineMetrics.INFO);
+        events.showLocation(activePlayer());
+        endOp(EngineMetrics.INFO, start);
     }
 
-    /** board – prints every player's location */
+    /** board – shows every player's location */
     public void cmdBoard() {
-        System.out.println("--- All Players ---");
-        for (Player p : players) {
-            String marker = p == activePlayer() ? " *" : "";
-            System.out.println("  " + p.getName() + marker
-                + " -> " + p.getLocation().getStatusDescription()
-                + (p.isWorking() ? " [" + p.getCurrentRole().getName() + "]" : ""));
-        }
+        long start = beginOp(EngineMetrics.INFO);
+        events.showBoard(players, activePlayer());
+        endOp(EngineMetrics.INFO, start);
     }
 
     /**
@@ -216,35 +592,51 @@ public class GameManager {
      * not already moved this turn.
      *
      * @param roomName Destination room name (case-insensitive)
+     * @return OK, WORKING, ALREADY_MOVED or NOT_ADJACENT
      */
-    public void cmdMove(String roomName) {
+    public CommandResult cmdMove(String roomName) {
+        long start = beginOp(EngineMetrics.MOVE);
+        return endOp(EngineMetrics.MOVE, start, move(board.getRoom(roomName), roomName));
+    }
+
+    /**
+     * move by room id (see Board.getRoom(int)); as cmdMove(String).
+     * @param roomId Destination room id
+     */
+    public CommandResult cmdMove(int roomId) {
+        long   start   = beginOp(EngineMetrics.MOVE);
+        Room   dest    = roomId >= 0 && roomId < board.roomCount() ? board.getRoom(roomId) : null;
+        String asTyped = dest != null ? dest.getName() : "#" + roomId;
+        return endOp(EngineMetrics.MOVE, start, move(dest, asTyped));
+    }
+
+    /** @param asTyped The destination as the player named it (for messages) */
+    private CommandResult move(Room dest, String asTyped) {
         Player p = activePlayer();
 
         if (p.isWorking()) {
-            System.out.println("Cannot move while working a role.");
-            return;
+            events.commandRejected("Cannot move while working a role.");
+            return CommandResult.WORKING;
         }
         if (p.hasMoved()) {
-            System.out.println("You have already moved this turn.");
-            return;
+            events.commandRejected("You have already moved this turn.");
+            return CommandResult.ALREADY_MOVED;
         }
 
         Room current = p.getLocation();
-        Room dest    = current.getNeighborByName(roomName);
-
-        if (dest == null) {
-            // Try board-wide lookup in case player typed exact name
-            dest = board.getRoom(roomName.toLowerCase());
-            if (dest == null || !current.isAdjacentTo(dest.getName())) {
-                System.out.println("Cannot move to \"" + roomName
-                    + "\". Adjacent rooms: " + neighborNames(current));
-                return;
-            }
+
+        if (dest == null || !current.isAdjacentTo(dest)) {
+            events.commandRejected("Cannot move to \"" + asTyped
+                + "\". Adjacent rooms: " + neighborNames(current));
+            return CommandResult.NOT_ADJACENT;
         }
 
+        if (journal != null) journal.move(dest.getId());
+        remember(p);
         p.setLocation(dest);
         p.setHasMoved(true);
-        System.out.println(p.getName() + " moves to " + dest.getStatusDescription());
+        events.playerMoved(p, dest);
+        return CommandResult.OK;
     }
 
     /**
@@ -253,63 +645,78 @@ public class GameManager {
      * rank requirement.  The set must have an active, non-wrapped scene.
      *
      * @param roleName Name of the desired role (case-insensitive)
+     * @return OK, WORKING, ALREADY_TOOK_ROLE, NOT_A_SET, SCENE_WRAPPED,
+     *         ROLE_UNAVAILABLE or RANK_TOO_LOW
+     */
+    public CommandResult cmdWork(String roleName) {
+        long start = beginOp(EngineMetrics.WORK);
+        return endOp(EngineMetrics.WORK, start, work(roleName, -1));
+    }
+
+    /**
+     * work by role slot at the current set (see Set.getRoleAt); as cmdWork(String).
+     * @param slot Role slot
      */
-    public void cmdWork(String roleName) {
+    public CommandResult cmdWork(int slot) {
+        long start = beginOp(EngineMetrics.WORK);
+        return endOp(EngineMetrics.WORK, start, work(null, slot));
+    }
+
+    /** Takes the role named roleName, or if that is null the one in slot. */
+    private CommandResult work(String roleName, int slot) {
         Player p = activePlayer();
 
         if (p.isWorking()) {
-            System.out.println("You are already working a role.");
-            return;
+            events.commandRejected("You are already working a role.");
+            return CommandResult.WORKING;
         }
         if (p.hasTakenRole()) {
-            System.out.println("You have already taken a role this turn.");
-            return;
+            events.commandRejected("You have already taken a role this turn.");
+            return CommandResult.ALREADY_TOOK_ROLE;
         }
 
         Room loc = p.getLocation();
         if (!(loc instanceof Set)) {
-            System.out.println("You can only take a role on a filming Set.");
-            return;
+            events.commandRejected("You can only take a role on a filming Set.");
+            return CommandResult.NOT_A_SET;
         }
 
         Set set = (Set) loc;
         if (set.isWrapped()) {
-            System.out.println("The scene at " + set.getName()
+            events.commandRejected("The scene at " + set.getName()
                 + " has already wrapped – no roles available.");
-            return;
+            return CommandResult.SCENE_WRAPPED;
         }
 
-        // Find the role by name (case-insensitive)
-        Role found = null;
-        for (Role r : set.getAllRoles()) {
-            if (r.getName().equalsIgnoreCase(roleName) && r.isAvailable()) {
-                found = r;
-                break;
-            }
+        // Find the role by name (case-insensitive) or slot
+        Role found;
+        if (roleName != null) {
+            found = set.findAvailableRole(roleName);
+        } else {
+            found = slot < set.roleCount() ? set.getRoleAt(slot) : null;
+            if (found != null && !found.isAvailable()) found = null;
         }
 
         if (found == null) {
-            System.out.println("Role \"" + roleName
-                + "\" not found or not available. Available roles:");
-            listRoles(set);
-            return;
+            events.roleUnavailable(roleName != null ? roleName : "#" + slot, set, p.getRank());
+            return CommandResult.ROLE_UNAVAILABLE;
         }
 
         if (p.getRank() < found.getLevel()) {
-            System.out.println("Your rank (" + p.getRank()
+            events.commandRejected("Your rank (" + p.getRank()
                 + ") is too low for this role (requires " + found.getLevel() + ").");
-            return;
+            return CommandResult.RANK_TOO_LOW;
         }
 
         // Assign the role
+        if (journal != null) journal.work(set.slotOf(found));
+        remember(p);
         found.setOccupiedBy(p);
         p.setCurrentRole(found);
         p.setHasTakenRole(true);
 
-        String roleType = found.isOnCard() ? "starring" : "extra";
-        System.out.println(p.getName() + " takes the " + roleType + " role: "
-            + found.getName() + " (level " + found.getLevel() + ")");
-        System.out.println("  Line: \"" + found.getLine() + "\"");
+        events.roleTaken(p, found);
+        return CommandResult.OK;
     }
 
     /**
@@ -320,58 +727,63 @@ public class GameManager {
      *   - Extra role:    +$1
      * If the final take is removed, the scene wraps and the budget payout
      * is distributed to starring-role players.
+     *
+     * @return OK (whether the roll succeeded or not), NOT_WORKING,
+     *         ALREADY_ACTED or ALREADY_REHEARSED
      */
-    public void cmdAct() {
+    public CommandResult cmdAct() {
+        long start = beginOp(EngineMetrics.ACT);
+        return endOp(EngineMetrics.ACT, start, act());
+    }
+
+    private CommandResult act() {
         Player p = activePlayer();
 
         if (!p.isWorking()) {
-            System.out.println("You are not working a role – take a role first.");
-            return;
+            events.commandRejected("You are not working a role – take a role first.");
+            return CommandResult.NOT_WORKING;
         }
         if (p.hasActed()) {
-            System.out.println("You have already acted this turn.");
-            return;
+            events.commandRejected("You have already acted this turn.");
+            return CommandResult.ALREADY_ACTED;
         }
         if (p.hasRehearsed()) {
-            System.out.println("You already rehearsed this turn; you cannot also act.");
-            return;
+            events.commandRejected("You already rehearsed this turn; you cannot also act.");
+            return CommandResult.ALREADY_REHEARSED;
         }
 
+        if (journal != null) journal.act();
         Set    set    = (Set)    p.getLocation();
         Role   role   = p.getCurrentRole();
         int    budget = set.getActiveCard().getBudget();
-        int    roll   = rng.nextInt(6) + 1;
+        int    roll   = actRng.nextInt(6) + 1;
         int    total  = roll + p.getRehearsalChips();
 
-        System.out.println(p.getName() + " rolls a " + roll
-            + " (+" + p.getRehearsalChips() + " rehearsal) = " + total
-            + " vs budget " + budget);
+        events.actRolled(p, roll, p.getRehearsalChips(), budget);
 
+        remember(p);
         p.setHasActed(true);
 
         if (total >= budget) {
             // ── Success ───────────────────────────────────────────────────────
+            remember(set);
             boolean wrapped = set.removeOneTake();
 
             if (role.isOnCard()) {
                 p.addCredits(2);
-                System.out.println("Success! " + p.getName()
-                    + " earns 2 credits. Takes remaining: "
-                    + set.countActiveTakes());
             } else {
                 p.addDollars(1);
-                System.out.println("Success! " + p.getName()
-                    + " earns $1. Takes remaining: "
-                    + set.countActiveTakes());
             }
+            events.actSucceeded(p, role, set.countActiveTakes());
 
             if (wrapped) {
                 handleSceneWrap(set);
             }
         } else {
             // ── Failure ───────────────────────────────────────────────────────
-            System.out.println("Failed. No reward this time.");
+            events.actFailed(p);
         }
+        return CommandResult.OK;
     }
 
     /**
@@ -382,30 +794,37 @@ public class GameManager {
      *  3. Checks for end-of-day condition.
      */
     private void handleSceneWrap(Set set) {
-        System.out.println("\n*** Scene \"" + set.getActiveCard().getName()
-            + "\" WRAPS! ***");
-
-        // Collect on-card players sorted by role level descending
-        List<Role> onCardRoles = new ArrayList<>(set.getActiveCard().getRoles());
-        List<Player> starring  = new ArrayList<>();
-        for (Role r : onCardRoles) {
-            if (r.getOccupiedBy() != null) starring.add(r.getOccupiedBy());
+        long start = beginOp(EngineMetrics.WRAP);
+        events.sceneWrapped(set, set.getActiveCard());
+        if (metrics != null) metrics.sceneWrapped(Math.max(0, turnCount - dayStartTurn));
+
+        // Collect on-card players by role level descending, so the
+        // highest-rank role gets the first die
+        SceneCard  card     = set.getActiveCard();
+        List<Role> onCard   = card.getRoles();
+        int        occupied = set.getOccupiedMask();
+        if (starring.length < onCard.size()) starring = new Player[onCard.size()];
+        int nStarring = 0;
+        for (int i = 0; i < onCard.size(); i++) {
+            Player p = onCard.get(card.roleByLevel(i)).getOccupiedBy();
+            if (p != null) starring[nStarring++] = p;
         }
 
-        // Sort by role level descending so highest-rank role gets first die
-        starring.sort((a, b) ->
-            b.getCurrentRole().getLevel() - a.getCurrentRole().getLevel());
+        // Everyone on this set is paid and/or released below
+        if (undo != null) {
+            for (int m = occupied; m != 0; m &= m - 1) {
+                remember(set.getRoleAt(Integer.numberOfTrailingZeros(m)).getOccupiedBy());
+            }
+        }
 
-        if (!starring.isEmpty()) {
+        if (nStarring > 0) {
             // Roll budget dice
-            int budget = set.getActiveCard().getBudget();
+            int budget = card.getBudget();
             int[] dice = new int[budget];
-            System.out.print("Budget payout – rolling " + budget + " dice: ");
             for (int i = 0; i < budget; i++) {
-                dice[i] = rng.nextInt(6) + 1;
-                System.out.print(dice[i] + " ");
+                dice[i] = payoutRng.nextInt(6) + 1;
             }
-            System.out.println();
+            events.payoutRolled(dice);
 
             // Sort dice descending
             Arrays.sort(dice);
@@ -414,51 +833,59 @@ public class GameManager {
 
             // Distribute round-robin
             for (int i = 0; i < budget; i++) {
-                Player recipient = starring.get(i % starring.size());
+                Player recipient = starring[i % nStarring];
                 recipient.addDollars(sortedDice[i]);
-                System.out.println("  " + recipient.getName()
-                    + " receives $" + sortedDice[i]);
+                events.payoutReceived(recipient, sortedDice[i]);
             }
         } else {
-            System.out.println("(No on-card players to receive payout.)");
+            events.payoutSkipped(set);
         }
 
-        // Free all players from their roles at this set
-        for (Role r : set.getAllRoles()) {
+        // Free all players from their roles at this set (the occupancy
+        // mask still covers the card's slots once the set is wrapped)
+        for (int m = occupied; m != 0; m &= m - 1) {
+            Role   r        = set.getRoleAt(Integer.numberOfTrailingZeros(m));
             Player occupant = r.getOccupiedBy();
-            if (occupant != null) {
-                occupant.setCurrentRole(null);
-                occupant.resetRehearsalChips();
-                r.setOccupiedBy(null);
-            }
+            occupant.setCurrentRole(null);
+            occupant.resetRehearsalChips();
+            r.setOccupiedBy(null);
         }
-        set.getActiveCard().resetRoles();
+        card.resetRoles();
 
-        System.out.println("All players released from roles at " + set.getName() + ".");
+        events.playersReleased(set);
 
         // Check end-of-day: ≤1 active scene remains
-        if (board.countActiveSets() <= 1) {
-            System.out.println("Only " + board.countActiveSets()
-                + " scene(s) remaining – day ends.");
+        int activeSets = board.countActiveSets();
+        if (activeSets <= 1) {
+            events.lastScenesRemaining(activeSets);
             endDay();
         }
+        endOp(EngineMetrics.WRAP, start);
     }
 
     /**
      * rehearse – adds one rehearsal chip (bonus to next act roll).
      * Chips cannot be accumulated beyond (budget - 1) to prevent guaranteed success.
      * Cannot rehearse the same turn as acting.
+     *
+     * @return OK, NOT_WORKING, ALREADY_ACTED, ALREADY_REHEARSED or MAX_CHIPS
      */
-    public void cmdRehearse() {
+    public CommandResult cmdRehearse() {
+        long start = beginOp(EngineMetrics.REHEARSE);
+        return endOp(EngineMetrics.REHEARSE, start, rehearse());
+    }
+
+    private CommandResult rehearse() {
         Player p = activePlayer();
 
         if (!p.isWorking()) {
-            System.out.println("You are not working a role.");
-            return;
+            events.commandRejected("You are not working a role.");
+            return CommandResult.NOT_WORKING;
         }
         if (p.hasRehearsed() || p.hasActed()) {
-            System.out.println("You have already acted or rehearsed this turn.");
-            return;
+            events.commandRejected("You have already acted or rehearsed this turn.");
+            return p.hasActed() ? CommandResult.ALREADY_ACTED
+                                : CommandResult.ALREADY_REHEARSED;
         }
 
         Set set    = (Set) p.getLocation();
@@ -466,15 +893,17 @@ public class GameManager {
 
         // Cap: chips cannot guarantee success (chips < budget)
         if (p.getRehearsalChips() >= budget - 1) {
-            System.out.println("You already have the maximum rehearsal chips ("
+            events.commandRejected("You already have the maximum rehearsal chips ("
                 + p.getRehearsalChips() + ") for this scene (budget " + budget + ").");
-            return;
+            return CommandResult.MAX_CHIPS;
         }
 
+        if (journal != null) journal.rehearse();
+        remember(p);
         p.addRehearsalChip();
         p.setHasRehearsed(true);
-        System.out.println(p.getName() + " rehearses. Rehearsal chips: "
-            + p.getRehearsalChips());
+        events.rehearsed(p, p.getRehearsalChips());
+        return CommandResult.OK;
     }
 
     /**
@@ -484,116 +913,268 @@ public class GameManager {
      *
      * @param level    Target rank (2–6)
      * @param currency "dollar" or "credit"
+     * @return OK, NOT_AT_OFFICE, WORKING, BAD_RANK, INSUFFICIENT_FUNDS or
+     *         UNKNOWN_CURRENCY
      */
-    public void cmdUpgrade(int level, String currency) {
+    public CommandResult cmdUpgrade(int level, String currency) {
+        long start = beginOp(EngineMetrics.UPGRADE);
+        return endOp(EngineMetrics.UPGRADE, start, upgrade(level, currency));
+    }
+
+    private CommandResult upgrade(int level, String currency) {
         Player p = activePlayer();
 
         if (!(p.getLocation() instanceof CastingOffice)) {
-            System.out.println("You must be at the Casting Office to upgrade.");
-            return;
+            events.commandRejected("You must be at the Casting Office to upgrade.");
+            return CommandResult.NOT_AT_OFFICE;
         }
         if (p.isWorking()) {
-            System.out.println("Cannot upgrade while working a role.");
-            return;
+            events.commandRejected("Cannot upgrade while working a role.");
+            return CommandResult.WORKING;
         }
         if (level <= p.getRank()) {
-            System.out.println("Target rank " + level
+            events.commandRejected("Target rank " + level
                 + " must be higher than your current rank " + p.getRank() + ".");
-            return;
+            return CommandResult.BAD_RANK;
         }
         if (level < 2 || level > 6) {
-            System.out.println("Rank must be between 2 and 6.");
-            return;
+            events.commandRejected("Rank must be between 2 and 6.");
+            return CommandResult.BAD_RANK;
         }
 
         CastingOffice office = (CastingOffice) p.getLocation();
         Upgrade u = office.findUpgrade(level, currency);
         if (u == null) {
-            System.out.println("No upgrade found for rank " + level
-                + " with " + currency + "s.");
-            listUpgrades(office, p);
-            return;
+            events.upgradeUnavailable(level, currency, office, p.getRank());
+            return CastingOffice.currencyIndex(currency) < 0 ? CommandResult.UNKNOWN_CURRENCY
+                                                             : CommandResult.BAD_RANK;
         }
 
         // Check affordability
         if (currency.equalsIgnoreCase("dollar")) {
             if (p.getDollars() < u.getAmount()) {
-                System.out.println("Not enough dollars. Need " + u.getAmount()
+                events.commandRejected("Not enough dollars. Need " + u.getAmount()
                     + ", have " + p.getDollars() + ".");
-                return;
+                return CommandResult.INSUFFICIENT_FUNDS;
             }
+            remember(p);
             p.removeDollars(u.getAmount());
         } else if (currency.equalsIgnoreCase("credit")) {
             if (p.getCredits() < u.getAmount()) {
-                System.out.println("Not enough credits. Need " + u.getAmount()
+                events.commandRejected("Not enough credits. Need " + u.getAmount()
                     + ", have " + p.getCredits() + ".");
-                return;
+                return CommandResult.INSUFFICIENT_FUNDS;
             }
+            remember(p);
             p.removeCredits(u.getAmount());
         } else {
-            System.out.println("Unknown currency \"" + currency
+            events.commandRejected("Unknown currency \"" + currency
                 + "\". Use 'dollar' or 'credit'.");
-            return;
+            return CommandResult.UNKNOWN_CURRENCY;
         }
 
+        if (journal != null) journal.upgrade(level, currency.equalsIgnoreCase("credit"));
         int old = p.getRank();
         p.setRank(level);
-        System.out.println(p.getName() + " upgrades from rank " + old
-            + " to rank " + level + " (paid " + u.getAmount() + " "
-            + currency + "s). Balance: $" + p.getDollars()
-            + ", " + p.getCredits() + " credits.");
+        events.upgraded(p, old, u);
+        return CommandResult.OK;
     }
 
     /**
      * end – ends the active player's turn and advances to the next player.
+     * @return OK (ending a turn is always allowed)
      */
-    public void cmdEnd() {
+    public CommandResult cmdEnd() {
+        long start = beginOp(EngineMetrics.END);
+        return endOp(EngineMetrics.END, start, end());
+    }
+
+    private CommandResult end() {
         Player p = activePlayer();
-        System.out.println(p.getName() + " ends their turn.");
+        events.turnEnded(p);
+        if (journal != null) journal.end();
 
         // Advance to next player
+        rememberGame();
+        turnCount++;
+        if (metrics != null) metrics.turnEnded();
         currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        remember(players.get(currentPlayerIndex));
         players.get(currentPlayerIndex).resetTurnState();
 
         if (!gameOver) {
             announceActivePlayer();
         }
+        return CommandResult.OK;
     }
 
     /**
      * quit – forces the game to end immediately (for testing).
      */
     public void cmdQuit() {
-        System.out.println("Game ended by player request.");
+        long start = beginOp(EngineMetrics.QUIT);
+        events.gameQuit();
+        if (journal != null) journal.quit();
+        rememberGame();
         endGame();
+        endOp(EngineMetrics.QUIT, start);
     }
 
     /**
      * roles – lists available roles at the active player's current location.
+     * @return OK, NOT_A_SET or SCENE_WRAPPED
      */
-    public void cmdRoles() {
+    public CommandResult cmdRoles() {
+        long start = beginOp(EngineMetrics.INFO);
+        return endOp(EngineMetrics.INFO, start, roles());
+    }
+
+    private CommandResult roles() {
         Room loc = activePlayer().getLocation();
         if (!(loc instanceof Set)) {
-            System.out.println("No roles available here.");
-            return;
+            events.commandRejected("No roles available here.");
+            return CommandResult.NOT_A_SET;
         }
         Set set = (Set) loc;
         if (set.isWrapped()) {
-            System.out.println("Scene at " + set.getName() + " is wrapped.");
-            return;
+            events.commandRejected("Scene at " + set.getName() + " is wrapped.");
+            return CommandResult.SCENE_WRAPPED;
+        }
+        events.showRoles(set, activePlayer().getRank());
+        return CommandResult.OK;
+    }
+
+    /**
+     * plan [rank] – shows the cheapest way to reach rank now, or without a
+     * rank the upgrade (if any) that maximises expected final score.
+     * Works anywhere; buying still requires the Casting Office.
+     * @param target Rank to reach, or 0 for the best plan
+     * @return OK (also when the rank is out of reach) or BAD_RANK
+     */
+    public CommandResult cmdPlan(int target) {
+        long start = beginOp(EngineMetrics.INFO);
+        return endOp(EngineMetrics.INFO, start, plan(target));
+    }
+
+    private CommandResult plan(int target) {
+        Player         p       = activePlayer();
+        UpgradePlanner planner = getUpgradePlanner();
+        if (target <= 0) {
+            events.showUpgradePlan(p, board.getOffice(), 0,
+                                   planner.best(p, expectedActsLeft()));
+        } else if (target <= p.getRank()) {
+            events.commandRejected("Target rank " + target
+                + " must be higher than your current rank " + p.getRank() + ".");
+            return CommandResult.BAD_RANK;
+        } else {
+            events.showUpgradePlan(p, board.getOffice(), target,
+                                   planner.cheapest(p, target));
+        }
+        return CommandResult.OK;
+    }
+
+    /** @return the upgrade planner for this game's office and deck */
+    public UpgradePlanner getUpgradePlanner() {
+        if (planner == null) {
+            planner = new UpgradePlanner(board.getOffice(), cardsById, board.getSets(),
+                                         catalog.getOdds(), players.size());
         }
-        System.out.println("Roles at " + set.getName() + ":");
-        listRoles(set);
+        return planner;
+    }
+
+    /**
+     * @return acts the active player can still expect: UpgradePlanner.actsPerDay()
+     *         at this table for each day after today plus the share of today's
+     *         scenes left
+     */
+    public double expectedActsLeft() {
+        double today = (double) board.countActiveSets() / Math.max(1, board.getSets().size());
+        return gameOver ? 0
+             : getUpgradePlanner().actsPerDay(players.size()) * (totalDays - currentDay + today);
     }
 
-    /** Displays the upgrade table for the Casting Office. */
-    public void cmdUpgrades() {
+    /**
+     * upgrades – displays the upgrade table for the Casting Office.
+     * @return OK or NOT_AT_OFFICE
+     */
+    public CommandResult cmdUpgrades() {
+        long start = beginOp(EngineMetrics.INFO);
+        return endOp(EngineMetrics.INFO, start, upgrades());
+    }
+
+    private CommandResult upgrades() {
         Room loc = activePlayer().getLocation();
         if (!(loc instanceof CastingOffice)) {
-            System.out.println("You must be at the Casting Office to see upgrades.");
-            return;
+            events.commandRejected("You must be at the Casting Office to see upgrades.");
+            return CommandResult.NOT_AT_OFFICE;
+        }
+        events.showUpgrades((CastingOffice) loc, activePlayer().getRank());
+        return CommandResult.OK;
+    }
+
+    // ── Typed actions ─────────────────────────────────────────────────────────
+
+    /**
+     * Carries out an action for the active player through the matching
+     * command method, events and all.
+     * @param a Action to perform
+     * @return The command's result
+     */
+    public CommandResult perform(Action a) {
+        switch (a.getKind()) {
+            case MOVE:     return cmdMove(a.getRoomId());
+            case WORK:     return cmdWork(a.getSlot());
+            case ACT:      return cmdAct();
+            case REHEARSE: return cmdRehearse();
+            case UPGRADE:  return cmdUpgrade(a.getLevel(), a.getCurrencyName());
+            default:       return cmdEnd();
+        }
+    }
+
+    /**
+     * Lists every action perform() would accept for the active player right
+     * now: ACT and REHEARSE, or moves, roles and affordable upgrades, with
+     * END always last.
+     * @return A read-only list that is reused – valid until the next call
+     */
+    public List<Action> legalActions() {
+        legal.clear();
+        Player p     = activePlayer();
+        Room   loc   = p.getLocation();
+        int    flags = p.getTurnFlags();
+
+        if (p.isWorking()) {
+            if ((flags & (Player.ACTED | Player.REHEARSED)) == 0) {
+                legal.add(Action.ACT);
+                int budget = ((Set) loc).getActiveCard().getBudget();
+                if (p.getRehearsalChips() < budget - 1) legal.add(Action.REHEARSE);
+            }
+        } else {
+            if ((flags & Player.MOVED) == 0) {
+                for (Room nb : loc.getNeighbors()) legal.add(Action.move(nb.getId()));
+            }
+            if ((flags & Player.TOOK_ROLE) == 0 && loc instanceof Set
+                    && !((Set) loc).isWrapped()) {
+                Set set = (Set) loc;
+                for (int slot = 0, n = set.roleCount(); slot < n; slot++) {
+                    Role r = set.getRoleAt(slot);
+                    if (r.isAvailable() && r.getLevel() <= p.getRank()) legal.add(Action.work(slot));
+                }
+            }
+            if (loc instanceof CastingOffice) {
+                for (Upgrade u : ((CastingOffice) loc).getUpgrades()) {
+                    if (u.getLevel() <= p.getRank()) continue;
+                    int currency = CastingOffice.currencyIndex(u.getCurrency());
+                    int funds    = currency == CastingOffice.CREDIT ? p.getCredits()
+                                                                    : p.getDollars();
+                    if (currency >= 0 && funds >= u.getAmount()) {
+                        legal.add(Action.upgrade(u.getLevel(), currency));
+                    }
+                }
+            }
         }
-        listUpgrades((CastingOffice) loc, activePlayer());
+        legal.add(Action.END);
+        return legalView;
     }
 
     // ── Private helpers ───────────────────────────────────────────────────────
@@ -607,40 +1188,4 @@ public class GameManager {
         }
         return sb.toString();
     }
-
-    private void listRoles(Set set) {
-        int playerRank = activePlayer().getRank();
-        // Off-card extras
-        System.out.println("  [Extra roles]");
-        for (Role r : set.getExtras()) {
-            String avail = !r.isAvailable() ? " (taken by "
-                + r.getOccupiedBy().getName() + ")" : "";
-            String rankOk = r.getLevel() <= playerRank ? "" : " [rank too low]";
-            System.out.println("    " + r + avail + rankOk);
-        }
-        // On-card (starring) roles
-        if (set.getActiveCard() != null) {
-            System.out.println("  [Starring roles – " + set.getActiveCard().getName() + "]");
-            for (Role r : set.getActiveCard().getRoles()) {
-                String avail = !r.isAvailable() ? " (taken by "
-                    + r.getOccupiedBy().getName() + ")" : "";
-                String rankOk = r.getLevel() <= playerRank ? "" : " [rank too low]";
-                System.out.println("    " + r + avail + rankOk);
-            }
-        }
-    }
-
-    private void listUpgrades(CastingOffice office, Player p) {
-        System.out.println("Available upgrades (your rank: " + p.getRank() + "):");
-        System.out.println("  [Dollar upgrades]");
-        for (Upgrade u : office.getUpgrades()) {
-            if (u.getCurrency().equals("dollar") && u.getLevel() > p.getRank())
-                System.out.println(u);
-        }
-        System.out.println("  [Credit upgrades]");
-        for (Upgrade u : office.getUpgrades()) {
-            if (u.getCurrency().equals("credit") && u.getLevel() > p.getRank())
-                System.out.println(u);
-        }
-    }
 }
@@ -0,0 +1,534 @@
+/**
+ * Multi-session TCP game server speaking the console command set.
+ *
+ * Each connection is served by its own thread – a virtual thread when the
+ * JVM has them (Java 21+), otherwise a pooled platform thread – that reads
+ * lines and runs them through Deadwood.processInput against the
+ * connection's table.  Any number of tables run side by side; each has its
+ * own GameManager rendering into a BufferedSink, and a per-table lock keeps
+ * its commands serialized even when several connections share it.  The
+ * board/card Catalog is loaded once and shared by every table.
+ *
+ * Responses never block a table: under the lock a command's output is only
+ * queued on each seated connection, and a writer thread per connection
+ * sends it.  A connection that falls more than MAX_QUEUED bytes behind (a
+ * client that stopped reading) is dropped, as in NioGameServer, so one
+ * stalled client cannot hold up the others at its table.
+ *
+ * Session protocol (one command per line, UTF-8; every response ends with
+ * the prompt "> "):
+ *   new <players>   – start a table and sit at it
+ *   join <id>       – sit at an existing table (hot-seat over the network)
+ *   <command>       – any console command once seated (who, move …, act, …)
+ *   bye             – close the connection
+ * A table is discarded when its game ends (its connections return to the
+ * lobby) or when its last connection leaves.
+ *
+ * With a snapshot directory every live table is written there as a
+ * GameSnapshot (table-<id>.dws) every SNAPSHOT_SECONDS and on close(), and
+ * a restarted server resumes those tables under their old ids, so players
+ * can 'join' them again after a crash or restart.
+ *
+ * Usage:
+ *   java GameServer [port] [boardXML] [cardsXML] [--snapshots <dir>]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 3450;
+
+    /** Seconds between snapshots of the live tables. */
+    public static final int SNAPSHOT_SECONDS = 10;
+
+    /** Milliseconds a snapshot waits for a busy table before skipping it */
+    static final int SNAPSHOT_WAIT_MILLIS = 500;
+
+    /** Unsent response bytes after which a connection is dropped */
+    static final int MAX_QUEUED = 1 << 20;
+
+    static final String PROMPT = "> ";
+
+    private static final byte[] PROMPT_BYTES = PROMPT.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] GREETING = ("Deadwood server. 'new <players>' starts a table,"
+        + " 'join <id>' joins one, 'bye' disconnects.\n" + PROMPT)
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final Catalog             catalog;
+    private final ServerSocket        listener;
+    private final ExecutorService     connections;
+    private final Map<Integer, Table> tables   = new ConcurrentHashMap<>();
+    private final AtomicInteger       nextId   = new AtomicInteger(1);
+    private final AtomicInteger       sessions = new AtomicInteger();
+
+    private final Path                     snapshotDir;   // null = no snapshots
+    private final ScheduledExecutorService snapshotter;
+    private volatile boolean               closed;
+
+    /**
+     * Binds the listening socket (port 0 picks a free port).
+     * @param port    TCP port on the loopback/any address
+     * @param catalog Board/card catalog shared by every table
+     */
+    public GameServer(int port, Catalog catalog) throws IOException {
+        this(port, catalog, null);
+    }
+
+    /**
+     * As GameServer(port, catalog), resuming and periodically snapshotting
+     * tables in a directory.
+     * @param snapshotDir Snapshot directory (created if needed), or null
+     */
+    public GameServer(int port, Catalog catalog, Path snapshotDir) throws IOException {
+        this.catalog     = catalog;
+        this.snapshotDir = snapshotDir;
+        if (snapshotDir != null) {
+            Files.createDirectories(snapshotDir);
+            resumeTables();
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "deadwood-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshotTables, SNAPSHOT_SECONDS,
+                                               SNAPSHOT_SECONDS, TimeUnit.SECONDS);
+        } else {
+            snapshotter = null;
+        }
+        this.listener    = new ServerSocket(port, 4096);
+        this.connections = newThreadPerTaskExecutor("deadwood-session");
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        String       snapArg = Deadwood.takeOption(argList, "--snapshots");
+        args = argList.toArray(new String[0]);
+
+        int    port      = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String boardFile = args.length >= 2 ? args[1] : "board.xml";
+        String cardsFile = args.length >= 3 ? args[2] : "cards.xml";
+        Path   snapshots = snapArg != null ? Paths.get(snapArg) : null;
+
+        EngineMetrics.registerMBean();
+        try (GameServer server = new GameServer(port, Catalog.load(boardFile, cardsFile),
+                                                snapshots)) {
+            System.out.println("Deadwood server listening on port " + server.getPort()
+                + (VIRTUAL_THREADS ? " (virtual threads)" : " (platform threads)"));
+            if (snapshots != null) {
+                System.out.println("Snapshots in " + snapshots + ", "
+                    + server.tableCount() + " table(s) resumed");
+            }
+            server.serve();
+        } catch (Exception e) {
+            System.err.println("Server failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // ── Threads ───────────────────────────────────────────────────────────────
+
+    /** True when Executors.newVirtualThreadPerTaskExecutor exists (Java 21+) */
+    static final boolean VIRTUAL_THREADS = hasVirtualThreads();
+
+    private static boolean hasVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns an executor that gives every task its own thread: a virtual
+     * thread per task when available, else an unbounded cached pool of
+     * daemon platform threads.
+     * @param name Platform thread name prefix
+     */
+    static ExecutorService newThreadPerTaskExecutor(String name) {
+        if (VIRTUAL_THREADS) {
+            try {
+                return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(null, r, name + "-" + n.incrementAndGet(), 256 * 1024);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ── Serving ───────────────────────────────────────────────────────────────
+
+    /** @return the bound port */
+    public int getPort() { return listener.getLocalPort(); }
+
+    /** @return open connections */
+    public int sessionCount() { return sessions.get(); }
+
+    /** @return tables with a game in progress */
+    public int tableCount() { return tables.size(); }
+
+    /** Accepts connections until the server is closed. */
+    public void serve() throws IOException {
+        while (!listener.isClosed()) {
+            Socket socket;
+            try {
+                socket = listener.accept();
+            } catch (SocketException e) {
+                if (listener.isClosed()) return;   // close() while accepting
+                throw e;
+            }
+            socket.setTcpNoDelay(true);
+            connections.execute(() -> session(socket));
+        }
+    }
+
+    /**
+     * Stops accepting and abandons every open session, snapshotting the
+     * live tables first when snapshots are enabled.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        listener.close();
+        connections.shutdownNow();
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+            snapshotTables();
+        }
+    }
+
+    /** Runs one connection from greeting to disconnect. */
+    private void session(Socket socket) {
+        sessions.incrementAndGet();
+        Seat   seat = null;
+        Client out  = null;
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(
+                socket.getInputStream(), StandardCharsets.UTF_8));
+            Client client = new Client(socket);
+            connections.execute(client::writeQueued);   // rejected once closing
+            out = client;
+            out.send(GREETING);
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.equalsIgnoreCase("bye")) break;
+
+                // A finished game sends everyone back to the lobby
+                if (seat != null && seat.table.gm.isGameOver()) {
+                    discard(seat.table);
+                    seat.leave();
+                    seat = null;
+                }
+
+                if (seat == null) {
+                    seat = lobby(line, out);
+                } else if (line.isEmpty()) {
+                    out.send(PROMPT_BYTES);
+                } else {
+                    seat.table.execute(line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // client went away (or the server is closing)
+        } finally {
+            if (seat != null && seat.leave()) discard(seat.table);
+            if (out != null) out.finish();
+            else             Client.close(socket);
+            sessions.decrementAndGet();
+        }
+    }
+
+    /** Handles a line from a connection that is not seated yet. */
+    private Seat lobby(String line, Client out) {
+        String[] tokens = line.toLowerCase().split("\\s+");
+        try {
+            if (tokens.length == 2 && tokens[0].equals("new")) {
+                int players = Integer.parseInt(tokens[1]);
+                if (players < 2 || players > 8) {
+                    out.sendLine("Deadwood supports 2–8 players.");
+                    return null;
+                }
+                Table table = new Table(nextId.getAndIncrement(), players, catalog);
+                tables.put(table.id, table);
+                return table.seat(out, "Table " + table.id + " created.");
+            }
+            if (tokens.length == 2 && tokens[0].equals("join")) {
+                Table table = tables.get(Integer.parseInt(tokens[1]));
+                if (table == null) {
+                    out.sendLine("No table " + tokens[1] + ".");
+                    return null;
+                }
+                return table.seat(out, "Joined table " + table.id + ".");
+            }
+        } catch (NumberFormatException e) {
+            // fall through to usage
+        }
+        out.sendLine("Start with 'new <players>' or 'join <table id>'.");
+        return null;
+    }
+
+    /** Drops a table and its snapshot (kept for resuming once closing). */
+    private void discard(Table table) {
+        if (closed || tables.remove(table.id) == null || snapshotDir == null) return;
+        try {
+            Files.deleteIfExists(snapshotFile(table.id));
+        } catch (IOException e) {
+            // a stale snapshot is resumed once and discarded again
+        }
+    }
+
+    // ── Snapshots ─────────────────────────────────────────────────────────────
+
+    private Path snapshotFile(int id) {
+        return snapshotDir.resolve("table-" + id + ".dws");
+    }
+
+    /**
+     * Writes a snapshot of every live table (each under its table lock).  A
+     * table still busy after SNAPSHOT_WAIT_MILLIS is skipped and tried again
+     * next cycle, so one stuck table cannot stall the others or close().
+     */
+    private void snapshotTables() {
+        for (Table table : tables.values()) {
+            try {
+                if (!table.snapshot(snapshotFile(table.id), SNAPSHOT_WAIT_MILLIS)) {
+                    System.err.println("Snapshot of table " + table.id + " skipped: table busy");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Snapshots interrupted at table " + table.id);
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Snapshot of table " + table.id + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Re-opens every table found in the snapshot directory. */
+    private void resumeTables() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshotDir, "table-*.dws")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    int         id = Integer.parseInt(name.substring(6, name.length() - 4));
+                    GameManager gm = GameSnapshot.read(file, catalog, NullSink.INSTANCE);
+                    if (gm.isGameOver()) continue;
+                    tables.put(id, new Table(id, gm));
+                    nextId.accumulateAndGet(id + 1, Math::max);
+                } catch (NumberFormatException | IllegalStateException e) {
+                    System.err.println("Skipping snapshot " + name + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ── Tables ────────────────────────────────────────────────────────────────
+
+    /** One game and the connections seated at it. */
+    static final class Table {
+        final int          id;
+        final GameManager  gm;
+        final BufferedSink sink = new BufferedSink();
+
+        private final ReentrantLock lock    = new ReentrantLock();
+        private final List<Client>  clients = new CopyOnWriteArrayList<>();
+
+        Table(int id, int players, Catalog catalog) {
+            this.id = id;
+            this.gm = new GameManager();
+            gm.setEventSink(sink);
+            gm.setMetrics(EngineMetrics.GLOBAL);
+            gm.setup(players, catalog);
+        }
+
+        /** Wraps a restored game. */
+        Table(int id, GameManager gm) {
+            this.id = id;
+            this.gm = gm;
+            gm.setEventSink(sink);
+            gm.setMetrics(EngineMetrics.GLOBAL);
+        }
+
+        /**
+         * Writes this table's game to a snapshot file (removes it once over).
+         * @param waitMillis How long to wait for a command in progress
+         * @return false if the table stayed busy and nothing was written
+         */
+        boolean snapshot(Path file, long waitMillis) throws IOException, InterruptedException {
+            if (!lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) return false;
+            try {
+                if (gm.isGameOver()) Files.deleteIfExists(file);
+                else                 GameSnapshot.write(gm, file);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Seats a connection and shows it the game so far (or the setup). */
+        Seat seat(Client client, String banner) {
+            lock.lock();
+            try {
+                clients.add(client);
+                if (sink.isEmpty()) gm.cmdWho();
+                sink.getStream().println(banner);
+                client.send(sink.drainBytes());
+                client.send(PROMPT_BYTES);
+                return new Seat(this, client);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Runs one command and queues its output for everyone at the table.
+         * Commands are serialized by the table lock, and so is the queueing,
+         * so every client sees responses in execution order; the lock is
+         * never held across a socket write.
+         */
+        void execute(String line) {
+            lock.lock();
+            try {
+                Deadwood.processInput(line, gm, sink.getStream());
+                if (gm.isGameOver()) {
+                    sink.getStream().println("Game over. 'new <players>' starts another table.");
+                }
+                byte[] response = sink.drainBytes();
+                for (Client c : clients) {
+                    if (!c.send(response) || !c.send(PROMPT_BYTES)) clients.remove(c);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** @return true if the table has nobody left */
+        boolean remove(Client client) {
+            clients.remove(client);
+            return clients.isEmpty();
+        }
+    }
+
+    /** A connection's place at a table. */
+    private static final class Seat {
+        final Table  table;
+        final Client client;
+
+        Seat(Table table, Client client) {
+            this.table  = table;
+            this.client = client;
+        }
+
+        /** @return true if this was the table's last connection */
+        boolean leave() { return table.remove(client); }
+    }
+
+    /**
+     * Connection output: send() queues without blocking and writeQueued(),
+     * on the connection's own thread, writes the queue to the socket.
+     */
+    private static final class Client {
+        private static final byte[] END = new byte[0];   // writer stops here
+
+        private final Socket                socket;
+        private final OutputStream          out;
+        private final BlockingQueue<byte[]> queue  = new LinkedBlockingQueue<>();
+        private final AtomicInteger         queued = new AtomicInteger();   // bytes in queue
+        private volatile boolean            dropped;
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out    = socket.getOutputStream();
+        }
+
+        /**
+         * Queues bytes for the writer; never blocks.
+         * @return false if the connection is (now) dropped: more than
+         *         MAX_QUEUED bytes were waiting
+         */
+        boolean send(byte[] bytes) {
+            if (dropped) return false;
+            if (queued.addAndGet(bytes.length) > MAX_QUEUED) {
+                drop();                                   // reader is not keeping up
+                return false;
+            }
+            queue.add(bytes);
+            return true;
+        }
+
+        void sendLine(String text) {
+            send((text + "\n" + PROMPT).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** Writes queued bytes until finish() or drop(), then closes the socket. */
+        void writeQueued() {
+            try {
+                for (byte[] bytes; (bytes = queue.take()) != END; ) {
+                    out.write(bytes);
+                    out.flush();
+                    queued.addAndGet(-bytes.length);
+                }
+            } catch (IOException | InterruptedException e) {
+                // client went away, or the server is closing
+            } finally {
+                close(socket);
+            }
+        }
+
+        /** Lets the writer send what is queued, then close the connection. */
+        void finish() { queue.add(END); }
+
+        /** Closes the connection now: a blocked write or read fails at once. */
+        void drop() {
+            dropped = true;
+            close(socket);
+            queue.add(END);
+        }
+
+        static void close(Socket socket) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * Crash-safe binary snapshots of a game in progress.
+ *
+ * A snapshot holds everything needed to carry on playing: the position
+ * (GameManager.saveState – players, locations, roles, rehearsal chips,
+ * takes, dealt cards, deck, day and turn), the seed and the current
+ * state of the dice streams (GameManager.saveRng), and the encoded board/card
+ * Catalog itself, so restoring never touches board.xml or cards.xml.
+ *
+ * File layout (big-endian):
+ *   header   – magic "DWSN", format version
+ *   sections – CATALOG, then GAME; each is length, bytes, CRC-32C of bytes
+ *   GAME     – seed, 6 stream longs, numPlayers, numSets, numCards,
+ *              current player, day, total days, turn count, turn count
+ *              when the day's cards were dealt, game-over flag,
+ *              7 ints per player, take mask and card per set, the deck's
+ *              Deck.STATE_WORDS longs
+ *
+ * write() goes to a temporary file that is forced to disk and then
+ * atomically renamed over the target, so a crash mid-write leaves the
+ * previous snapshot intact; the checksums catch anything torn or corrupt.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+public final class GameSnapshot {
+
+    static final int MAGIC   = 0x4457534E; // "DWSN"
+    static final int VERSION = 3;   // 2: deck stored as Deck masks, 3: day start turn
+
+    private GameSnapshot() {}
+
+    // ── Writing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Encodes a game's complete state.
+     * @param gm Game that has been set up
+     * @return Snapshot bytes (see class comment for the layout)
+     */
+    public static byte[] encode(GameManager gm) {
+        GameState s       = gm.newState();
+        long[]    rng     = new long[6];
+        byte[]    catalog = gm.getCatalog().encode();
+        gm.saveState(s);
+        gm.saveRng(rng);
+
+        int        n    = s.numPlayers;
+        int        sets = s.takeMask.length;
+        int        deck = s.numCards;
+        ByteBuffer game = ByteBuffer.allocate(8 * 7 + 2 * 3 + 4 * 5 + 1
+                                              + 4 * (7 * n + 2 * sets) + 8 * Deck.STATE_WORDS);
+        game.putLong(gm.getSeed());
+        for (long v : rng) game.putLong(v);
+        game.putShort((short) n).putShort((short) sets).putShort((short) deck);
+        game.putInt(s.currentPlayer).putInt(s.day).putInt(s.totalDays).putInt(s.turnCount);
+        game.putInt(s.dayStartTurn);
+        game.put((byte) (s.gameOver ? 1 : 0));
+        for (int p = 0; p < n; p++) {
+            game.putInt(s.rank[p]).putInt(s.dollars[p]).putInt(s.credits[p])
+                .putInt(s.location[p]).putInt(s.role[p]).putInt(s.chips[p])
+                .putInt(s.turnFlags[p]);
+        }
+        for (int i = 0; i < sets; i++) game.putInt(s.takeMask[i]).putInt(s.setCard[i]);
+        for (long w : s.deck) game.putLong(w);
+
+        ByteBuffer out = ByteBuffer.allocate(8 + 8 + catalog.length + 8 + game.capacity());
+        out.putInt(MAGIC).putInt(VERSION);
+        putSection(out, catalog);
+        putSection(out, game.array());
+        return out.array();
+    }
+
+    /**
+     * Writes a snapshot atomically: temporary file, fsync, rename.
+     * @param gm   Game to snapshot
+     * @param file Target file (replaced if it exists)
+     */
+    public static void write(GameManager gm, Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(encode(gm));
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putSection(ByteBuffer out, byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        out.putInt(bytes.length).put(bytes).putInt((int) crc.getValue());
+    }
+
+    // ── Restoring ─────────────────────────────────────────────────────────────
+
+    /**
+     * Restores a game from a snapshot file.
+     * @param file    Snapshot written by write()
+     * @param catalog Catalog to reuse if the snapshot was taken on it (may be
+     *                null); otherwise the embedded catalog is decoded
+     * @param sink    Event sink for the restored game
+     * @return A GameManager positioned exactly where the snapshot was taken
+     * @throws IllegalStateException if the file is not a valid snapshot
+     */
+    public static GameManager read(Path file, Catalog catalog, GameEventSink sink)
+            throws IOException {
+        try {
+            return decode(ByteBuffer.wrap(Files.readAllBytes(file)), catalog, sink);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException(file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restores a game from snapshot bytes.
+     * @see #read(Path, Catalog, GameEventSink)
+     */
+    public static GameManager decode(ByteBuffer buf, Catalog catalog, GameEventSink sink) {
+        if (buf.remaining() < 8 || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            throw new IllegalStateException("not a game snapshot");
+        }
+        ByteBuffer cat  = getSection(buf, "catalog");
+        ByteBuffer game = getSection(buf, "game");
+
+        // Share the caller's catalog when the hashes agree
+        byte[] hash = new byte[32];
+        cat.get(8, hash);
+        if (catalog == null || !Arrays.equals(hash, catalog.getHash())) {
+            catalog = Catalog.decode(cat);
+            if (catalog == null) throw new IllegalStateException("unsupported catalog");
+        }
+
+        long   seed = game.getLong();
+        long[] rng  = new long[6];
+        for (int i = 0; i < rng.length; i++) rng[i] = game.getLong();
+        int n    = game.getShort();
+        int sets = game.getShort();
+        int deck = game.getShort();
+
+        GameState s = new GameState(n, sets, deck);
+        s.currentPlayer = game.getInt();
+        s.day           = game.getInt();
+        s.totalDays     = game.getInt();
+        s.turnCount     = game.getInt();
+        s.dayStartTurn  = game.getInt();
+        s.gameOver      = game.get() != 0;
+        for (int p = 0; p < n; p++) {
+            s.rank[p]      = game.getInt();
+            s.dollars[p]   = game.getInt();
+            s.credits[p]   = game.getInt();
+            s.location[p]  = game.getInt();
+            s.role[p]      = game.getInt();
+            s.chips[p]     = game.getInt();
+            s.turnFlags[p] = game.getInt();
+        }
+        for (int i = 0; i < sets; i++) {
+            s.takeMask[i] = game.getInt();
+            s.setCard[i]  = game.getInt();
+        }
+        for (int i = 0; i < s.deck.length; i++) s.deck[i] = game.getLong();
+
+        // Set up quietly, then overwrite the fresh position with the saved one
+        GameManager gm = new GameManager();
+        gm.setEventSink(NullSink.INSTANCE);
+        gm.setup(n, catalog, seed);
+        GameState shape = gm.newState();
+        if (shape.takeMask.length != sets || shape.numCards != deck) {
+            throw new IllegalStateException("snapshot does not match its catalog");
+        }
+        gm.loadState(s);
+        gm.loadRng(rng);
+        gm.setEventSink(sink);
+        return gm;
+    }
+
+    /** Reads one length-prefixed section and verifies its CRC-32C. */
+    private static ByteBuffer getSection(ByteBuffer buf, String name) {
+        if (buf.remaining() < 4) throw new IllegalStateException("truncated " + name + " section");
+        int length = buf.getInt();
+        if (length < 0 || buf.remaining() < length + 4) {
+            throw new IllegalStateException("truncated " + name + " section");
+        }
+        ByteBuffer section = buf.slice(buf.position(), length);
+        buf.position(buf.position() + length);
+
+        CRC32C crc = new CRC32C();
+        crc.update(section.duplicate());
+        if ((int) crc.getValue() != buf.getInt()) {
+            throw new IllegalStateException(name + " section checksum mismatch");
+        }
+        return section;
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Compact, primitive snapshot of a game position.
+ *
+ * Everything GameManager's rules depend on is flattened into int arrays and
+ * a few long masks (struct-of-arrays layout, one slot per player / set / card) instead of the
+ * linked Player → Role → Set → SceneCard object graph, so a position can be
+ * copied with a handful of System.arraycopy calls and no allocation.
+ *
+ * Encodings:
+ *   location[p]  – room id (Board.getRoom(int))
+ *   role[p]      – role slot at that room's Set (Set.getRoleAt), -1 = none
+ *   turnFlags[p] – Player.getTurnFlags() bits
+ *   takeMask[s]  – bit i ⇔ take i of set s still on the board
+ *   setCard[s]   – card id (index in the catalog deck) or -1
+ *   deck         – Deck.save() words: undealt, dealt-today and discarded
+ *                  card masks
+ *
+ * Use GameManager.saveState() / loadState() to move between a live game
+ * and a GameState; the manager's rules then run against the loaded state.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.Arrays;
+
+public final class GameState {
+
+    // ── Game-wide ─────────────────────────────────────────────────────────────
+    int     numPlayers;
+    int     currentPlayer;
+    int     day;
+    int     totalDays;
+    int     turnCount;      // turns ended so far this game
+    int     dayStartTurn;   // turnCount when today's cards were dealt
+    boolean gameOver;
+
+    // ── Per player ────────────────────────────────────────────────────────────
+    final int[] rank;
+    final int[] dollars;
+    final int[] credits;
+    final int[] location;
+    final int[] role;
+    final int[] chips;
+    final int[] turnFlags;
+
+    // ── Per set / card ────────────────────────────────────────────────────────
+    final int[]  takeMask;
+    final int[]  setCard;
+    final long[] deck = new long[Deck.STATE_WORDS];
+    final int    numCards;   // scene cards in the deck (shape only)
+
+    /**
+     * @param numPlayers Players in the game
+     * @param numSets    Filming sets on the board
+     * @param numCards   Scene cards in the deck
+     */
+    public GameState(int numPlayers, int numSets, int numCards) {
+        this.numPlayers = numPlayers;
+        this.numCards   = numCards;
+        rank      = new int[numPlayers];
+        dollars   = new int[numPlayers];
+        credits   = new int[numPlayers];
+        location  = new int[numPlayers];
+        role      = new int[numPlayers];
+        chips     = new int[numPlayers];
+        turnFlags = new int[numPlayers];
+        takeMask  = new int[numSets];
+        setCard   = new int[numSets];
+    }
+
+    // ── Copying ───────────────────────────────────────────────────────────────
+
+    /**
+     * Copies this position into dst in O(size) without allocating.
+     * @param dst State of the same shape (players, sets, cards)
+     */
+    public void copyInto(GameState dst) {
+        dst.numPlayers    = numPlayers;
+        dst.currentPlayer = currentPlayer;
+        dst.day           = day;
+        dst.totalDays     = totalDays;
+        dst.turnCount     = turnCount;
+        dst.dayStartTurn  = dayStartTurn;
+        dst.gameOver      = gameOver;
+        System.arraycopy(rank,      0, dst.rank,      0, rank.length);
+        System.arraycopy(dollars,   0, dst.dollars,   0, dollars.length);
+        System.arraycopy(credits,   0, dst.credits,   0, credits.length);
+        System.arraycopy(location,  0, dst.location,  0, location.length);
+        System.arraycopy(role,      0, dst.role,      0, role.length);
+        System.arraycopy(chips,     0, dst.chips,     0, chips.length);
+        System.arraycopy(turnFlags, 0, dst.turnFlags, 0, turnFlags.length);
+        System.arraycopy(takeMask,  0, dst.takeMask,  0, takeMask.length);
+        System.arraycopy(setCard,   0, dst.setCard,   0, setCard.length);
+        System.arraycopy(deck,      0, dst.deck,      0, deck.length);
+    }
+
+    /** @return a new state holding the same position */
+    public GameState copy() {
+        GameState dst = new GameState(numPlayers, takeMask.length, numCards);
+        copyInto(dst);
+        return dst;
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public int     getNumPlayers()    { return numPlayers;    }
+    public int     getCurrentPlayer() { return currentPlayer; }
+    public int     getDay()           { return day;           }
+    public int     getTotalDays()     { return totalDays;     }
+    public int     getTurnCount()     { return turnCount;     }
+    public boolean isGameOver()       { return gameOver;      }
+
+    public int getRank(int p)     { return rank[p];     }
+    public int getDollars(int p)  { return dollars[p];  }
+    public int getCredits(int p)  { return credits[p];  }
+    public int getLocation(int p) { return location[p]; }
+    public int getRole(int p)     { return role[p];     }
+    public int getChips(int p)    { return chips[p];    }
+
+    /** @return final-score formula (dollars + credits + rank) for player p */
+    public int getScore(int p) { return dollars[p] + credits[p] + rank[p]; }
+
+    // ── Object ────────────────────────────────────────────────────────────────
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+        GameState s = (GameState) o;
+        return numPlayers == s.numPlayers && currentPlayer == s.currentPlayer
+            && day == s.day && totalDays == s.totalDays
+            && turnCount == s.turnCount && dayStartTurn == s.dayStartTurn
+            && gameOver == s.gameOver
+            && Arrays.equals(rank, s.rank)         && Arrays.equals(dollars, s.dollars)
+            && Arrays.equals(credits, s.credits)   && Arrays.equals(location, s.location)
+            && Arrays.equals(role, s.role)         && Arrays.equals(chips, s.chips)
+            && Arrays.equals(turnFlags, s.turnFlags)
+            && Arrays.equals(takeMask, s.takeMask) && Arrays.equals(setCard, s.setCard)
+            && Arrays.equals(deck, s.deck);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Arrays.hashCode(new int[] { numPlayers, currentPlayer, day,
+                                            totalDays, turnCount, gameOver ? 1 : 0 });
+        h = 31 * h + Arrays.hashCode(dollars);
+        h = 31 * h + Arrays.hashCode(credits);
+        h = 31 * h + Arrays.hashCode(location);
+        h = 31 * h + Arrays.hashCode(role);
+        h = 31 * h + Arrays.hashCode(takeMask);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("day ").append(day).append('/').append(totalDays)
+          .append(", turn ").append(turnCount)
+          .append(", player ").append(currentPlayer)
+          .append(gameOver ? " [game over]" : "");
+        for (int p = 0; p < numPlayers; p++) {
+            sb.append(String.format("%n  p%d rank %d $%d %dcr @%d role %d chips %d",
+                p, rank[p], dollars[p], credits[p], location[p], role[p], chips[p]));
+        }
+        sb.append("\n  takes ").append(Arrays.toString(takeMask))
+          .append("\n  cards ").append(Arrays.toString(setCard));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Baseline Agent that takes the legal action with the highest immediate
+ * expected value, in points per act, from the exact Odds tables:
+ *
+ *   ACT        p(chips) × reward of the current role
+ *   REHEARSE   DISCOUNT × the same with one more chip (acting next turn)
+ *   WORK       the role's value, acting this turn
+ *   MOVE       the best role value reachable from the destination, DISCOUNT
+ *              per room further away; or, when UpgradePlanner advises an
+ *              upgrade, its expected gain spread over a day's acts,
+ *              discounted by the distance to the Casting Office
+ *   UPGRADE    the upgrade's expected gain in final score (UpgradePlanner)
+ *   END        0
+ *
+ * A role's reward is $1 for an extra; for a starring role 2 credits plus
+ * its share of the wrap payout (at its place among the starring players
+ * already on the card) spread over the takes left.  Ties go to the first
+ * legal action, so the agent is deterministic.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+
+public class GreedyAgent implements Agent {
+
+    /** Value kept per turn of delay (a room further away, a rehearsal) */
+    private static final double DISCOUNT = 0.8;
+
+    /** Best role value per set, refreshed for every decision that moves */
+    private double[] setValue = new double[0];
+
+    /** Advised upgrade's gain per act (0 = none), refreshed with setValue */
+    private double   upgradeValue;
+
+    @Override
+    public Action chooseAction(GameManager gm, List<Action> legal) {
+        Player p      = gm.activePlayer();
+        Board  board  = gm.getBoard();
+        Odds   odds   = gm.getCatalog().getOdds();
+        double acts   = gm.expectedActsLeft();
+        Action best   = legal.get(legal.size() - 1);     // END
+        double bestV  = 0;
+        boolean sized = false;
+
+        for (int i = 0; i < legal.size(); i++) {
+            Action a = legal.get(i);
+            double v;
+            switch (a.getKind()) {
+                case ACT:
+                    v = roleValue(odds, (Set) p.getLocation(), p.getCurrentRole(),
+                                  p.getRehearsalChips());
+                    break;
+                case REHEARSE:
+                    v = DISCOUNT * roleValue(odds, (Set) p.getLocation(), p.getCurrentRole(),
+                                             p.getRehearsalChips() + 1);
+                    break;
+                case WORK: {
+                    Set set = (Set) p.getLocation();
+                    v = roleValue(odds, set, set.getRoleAt(a.getSlot()), 0);
+                    break;
+                }
+                case UPGRADE:
+                    v = upgradeGain(gm, p, a, acts);
+                    break;
+                case MOVE: {
+                    if (!sized) {
+                        fillMoveValues(gm, p, odds, acts);
+                        sized = true;
+                    }
+                    v = moveValue(board, board.getRoom(a.getRoomId()));
+                    break;
+                }
+                default:
+                    v = 0;
+            }
+            if (v > bestV) {
+                bestV = v;
+                best  = a;
+            }
+        }
+        return best;
+    }
+
+    // ── Valuation ─────────────────────────────────────────────────────────────
+
+    /** @return expected points of one act on role at set with chips */
+    private static double roleValue(Odds odds, Set set, Role role, int chips) {
+        SceneCard card   = set.getActiveCard();
+        int       budget = card.getBudget();
+        double    p      = odds.actSuccess(budget, chips);
+        if (!role.isOnCard()) return p;
+
+        int starring = 1, above = 0;
+        for (Role r : card.getRoles()) {
+            if (r == role || r.isAvailable()) continue;
+            starring++;
+            if (r.getLevel() > role.getLevel()) above++;
+        }
+        double share = odds.expectedPayout(budget, starring, above);
+        return p * (2 + share / Math.max(1, set.countActiveTakes()));
+    }
+
+    /** @return UpgradePlanner's expected gain of buying a's rank now */
+    private static double upgradeGain(GameManager gm, Player p, Action a, double acts) {
+        UpgradePlanner planner = gm.getUpgradePlanner();
+        int cost = gm.getBoard().getOffice().getCost(a.getLevel(), a.getCurrency());
+        return (a.getLevel() - p.getRank()) - cost
+             + acts * (planner.actValue(a.getLevel()) - planner.actValue(p.getRank()));
+    }
+
+    /**
+     * Records, per set, the value of the best free role p qualifies for,
+     * and the per-act value of the upgrade UpgradePlanner advises.
+     */
+    private void fillMoveValues(GameManager gm, Player p, Odds odds, double acts) {
+        List<Set> sets = gm.getBoard().getSets();
+        if (setValue.length != sets.size()) setValue = new double[sets.size()];
+        for (int s = 0; s < sets.size(); s++) {
+            Set    set  = sets.get(s);
+            double best = 0;
+            if (!set.isWrapped()) {
+                for (int slot = 0, n = set.roleCount(); slot < n; slot++) {
+                    Role r = set.getRoleAt(slot);
+                    if (r.isAvailable() && r.getLevel() <= p.getRank()) {
+                        best = Math.max(best, roleValue(odds, set, r, 0));
+                    }
+                }
+            }
+            setValue[s] = best;
+        }
+
+        UpgradePlanner      planner = gm.getUpgradePlanner();
+        UpgradePlanner.Plan plan    = planner.best(p, acts);
+        upgradeValue = plan.isUpgrade()
+                     ? plan.getGain() / planner.actsPerDay(gm.getPlayers().size()) : 0;
+    }
+
+    /** @return the best prospect from dest: a role, or an advised upgrade */
+    private double moveValue(Board board, Room dest) {
+        List<Set> sets = board.getSets();
+        double    best = upgradeValue * Math.pow(DISCOUNT, board.distance(dest, board.getOffice()));
+        for (int s = 0; s < sets.size(); s++) {
+            if (setValue[s] == 0) continue;
+            best = Math.max(best, setValue[s] * Math.pow(DISCOUNT, board.distance(dest, sets.get(s))));
+        }
+        return best;
+    }
+}
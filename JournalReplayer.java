@@ -0,0 +1,189 @@
+/**
+ * Replays a CommandJournal and verifies every game's final scores.
+ *
+ * The journal is memory-mapped, split into game blocks, and the blocks are
+ * replayed in parallel: each game is set up from its recorded seed with a
+ * NullSink, its commands are fed to GameManager's command methods, and the
+ * resulting Player.getScore() values are compared with the recorded ones.
+ * Because shuffles and dice come from the seed, a faithful replay
+ * reproduces every game bit for bit; any difference is reported.
+ *
+ * Usage:
+ *   java JournalReplayer <journal> [boardXML] [cardsXML]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class JournalReplayer {
+
+    private final Catalog catalog;
+
+    /**
+     * @param catalog Catalog the journaled games were played on
+     */
+    public JournalReplayer(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java JournalReplayer <journal> [boardXML] [cardsXML]");
+            System.exit(1);
+        }
+        String boardFile = args.length >= 2 ? args[1] : "board.xml";
+        String cardsFile = args.length >= 3 ? args[2] : "cards.xml";
+
+        try {
+            JournalReplayer replayer = new JournalReplayer(Catalog.load(boardFile, cardsFile));
+            long   start  = System.nanoTime();
+            Result result = replayer.replay(Paths.get(args[0]));
+            double secs   = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Games replayed : %d%n", result.games);
+            System.out.printf("Score mismatch : %d%n", result.mismatches.size());
+            for (String m : result.mismatches.subList(0, Math.min(10, result.mismatches.size()))) {
+                System.out.println("  " + m);
+            }
+            System.out.printf("Elapsed        : %.2f s (%.0f games/sec)%n",
+                              secs, result.games / secs);
+            if (!result.mismatches.isEmpty()) System.exit(2);
+        } catch (Exception e) {
+            System.err.println("Replay failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // ── Replay ────────────────────────────────────────────────────────────────
+
+    /** Outcome of replaying a journal. */
+    public static final class Result {
+        final int          games;
+        final List<String> mismatches;
+
+        Result(int games, List<String> mismatches) {
+            this.games      = games;
+            this.mismatches = mismatches;
+        }
+
+        public int          getGames()      { return games;      }
+        public List<String> getMismatches() { return mismatches; }
+    }
+
+    /**
+     * Replays every game in the journal (in parallel) and checks its scores.
+     * @param file Journal written by CommandJournal
+     * @return Number of games and a description of each mismatch
+     * @throws IOException           on I/O failure
+     * @throws IllegalStateException if the journal is malformed or belongs
+     *                               to another catalog
+     */
+    public Result replay(Path file) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+
+        byte[] hash = new byte[32];
+        if (map.remaining() < CommandJournal.HEADER
+                || map.getInt() != CommandJournal.MAGIC
+                || map.getInt() != CommandJournal.VERSION) {
+            throw new IllegalStateException(file + " is not a command journal");
+        }
+        map.get(hash);
+        if (!Arrays.equals(hash, catalog.getHash())) {
+            throw new IllegalStateException(file + " was recorded with a different board/cards");
+        }
+
+        // Index the blocks so they can be replayed independently
+        List<int[]> blocks = new ArrayList<>();
+        while (map.hasRemaining()) {
+            int length = CommandJournal.getVarint(map);
+            blocks.add(new int[] { map.position(), length });
+            map.position(map.position() + length);
+        }
+
+        List<String>  mismatches = new ArrayList<>();
+        AtomicInteger played     = new AtomicInteger();
+        IntStream.range(0, blocks.size()).parallel().forEach(i -> {
+            int[]      b     = blocks.get(i);
+            ByteBuffer block = map.slice(b[0], b[1]);
+            String     diff  = replayGame(block);
+            played.incrementAndGet();
+            if (diff != null) {
+                synchronized (mismatches) { mismatches.add("game " + i + ": " + diff); }
+            }
+        });
+        return new Result(played.get(), mismatches);
+    }
+
+    /**
+     * Replays one game block.
+     * @return null if the final scores match, else a description
+     */
+    String replayGame(ByteBuffer block) {
+        if (CommandJournal.getVarint(block) != CommandJournal.OP_GAME) {
+            throw new IllegalStateException("game block does not start with GAME");
+        }
+        int  numPlayers = CommandJournal.getVarint(block);
+        long seed       = block.getLong();
+
+        GameManager gm = new GameManager();
+        gm.setEventSink(NullSink.INSTANCE);
+        gm.setup(numPlayers, catalog, seed);
+
+        while (block.hasRemaining()) {
+            int op = CommandJournal.getVarint(block);
+            switch (op) {
+                case CommandJournal.OP_MOVE:
+                    gm.cmdMove(CommandJournal.getVarint(block));
+                    break;
+                case CommandJournal.OP_WORK:
+                    gm.cmdWork(CommandJournal.getVarint(block));
+                    break;
+                case CommandJournal.OP_ACT:      gm.cmdAct();      break;
+                case CommandJournal.OP_REHEARSE: gm.cmdRehearse(); break;
+                case CommandJournal.OP_END:      gm.cmdEnd();      break;
+                case CommandJournal.OP_QUIT:     gm.cmdQuit();     break;
+                case CommandJournal.OP_UPGRADE: {
+                    int level = CommandJournal.getVarint(block);
+                    gm.cmdUpgrade(level, CommandJournal.getVarint(block) == 1 ? "credit" : "dollar");
+                    break;
+                }
+                case CommandJournal.OP_SCORES:
+                    return compareScores(gm, block);
+                default:
+                    throw new IllegalStateException("unknown journal opcode " + op);
+            }
+        }
+        return "block ended without SCORES";
+    }
+
+    private static String compareScores(GameManager gm, ByteBuffer block) {
+        List<Player> players  = gm.getPlayers();
+        int          n        = CommandJournal.getVarint(block);
+        int[]        expected = new int[n];
+        int[]        actual   = new int[players.size()];
+        for (int i = 0; i < n; i++) expected[i] = CommandJournal.getVarint(block);
+        for (int i = 0; i < actual.length; i++) actual[i] = players.get(i).getScore();
+
+        if (!gm.isGameOver())                return "replay did not reach the end of the game";
+        if (!Arrays.equals(expected, actual)) {
+            return "recorded " + Arrays.toString(expected) + ", replayed " + Arrays.toString(actual);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Startup benchmark comparing the DOM XMLParser, the streaming StaxParser
+ * and instantiation from the precompiled binary Catalog on board.xml +
+ * cards.xml.
+ *
+ * All loaders are first checked to produce identical boards and decks,
+ * then each is warmed up and timed over the same number of full loads
+ * (board + cards) in alternating rounds.
+ *
+ * Usage:
+ *   java LoaderBenchmark [iterations] [boardXML] [cardsXML]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+
+public class LoaderBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int    iterations = args.length >= 1 ? Integer.parseInt(args[0]) : 2000;
+        String boardFile  = args.length >= 2 ? args[1] : "board.xml";
+        String cardsFile  = args.length >= 3 ? args[2] : "cards.xml";
+
+        XMLParser  dom     = new XMLParser();
+        StaxParser stax    = new StaxParser();
+        Catalog    catalog = Catalog.load(boardFile, cardsFile);
+
+        // ── Equivalence check ─────────────────────────────────────────────────
+        String domPrint  = fingerprint(dom.parseBoard(boardFile),  dom.parseCards(cardsFile));
+        String staxPrint = fingerprint(stax.parseBoard(boardFile), stax.parseCards(cardsFile));
+        String catPrint  = fingerprint(catalog.newBoard(), catalog.newDeck());
+        if (!domPrint.equals(staxPrint) || !domPrint.equals(catPrint)) {
+            System.err.println("Loaders disagree!\n--- DOM ---\n" + domPrint
+                + "\n--- StAX ---\n" + staxPrint + "\n--- Catalog ---\n" + catPrint);
+            System.exit(1);
+        }
+        System.out.println("DOM, StAX and Catalog loaders produce identical boards and decks.");
+
+        // ── Warm-up ───────────────────────────────────────────────────────────
+        for (int i = 0; i < iterations; i++) {
+            dom.parseBoard(boardFile);  dom.parseCards(cardsFile);
+            stax.parseBoard(boardFile); stax.parseCards(cardsFile);
+            catalog.newBoard();         catalog.newDeck();
+        }
+
+        // ── Timed rounds ──────────────────────────────────────────────────────
+        long domNanos = 0, staxNanos = 0, catNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                dom.parseBoard(boardFile);
+                dom.parseCards(cardsFile);
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                stax.parseBoard(boardFile);
+                stax.parseCards(cardsFile);
+            }
+            long t2 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                catalog.newBoard();
+                catalog.newDeck();
+            }
+            long t3 = System.nanoTime();
+            domNanos  += t1 - t0;
+            staxNanos += t2 - t1;
+            catNanos  += t3 - t2;
+        }
+
+        long loads = (long) iterations * ROUNDS;
+        System.out.printf("DOM  (XMLParser)  : %8.1f µs per board+cards load%n",
+                          domNanos  / 1e3 / loads);
+        System.out.printf("StAX (StaxParser) : %8.1f µs per board+cards load%n",
+                          staxNanos / 1e3 / loads);
+        System.out.printf("Catalog instance  : %8.1f µs per board+cards load%n",
+                          catNanos  / 1e3 / loads);
+        System.out.printf("Speed-up vs DOM   : %8.2fx (StAX), %.2fx (Catalog)%n",
+                          (double) domNanos / staxNanos, (double) domNanos / catNanos);
+    }
+
+    /** Renders everything a loader produced into a comparable string. */
+    static String fingerprint(Board board, List<SceneCard> cards) {
+        StringBuilder sb = new StringBuilder();
+        for (Set s : board.getSets()) appendRoom(sb, s);
+        appendRoom(sb, board.getTrailer());
+        appendRoom(sb, board.getOffice());
+        for (Upgrade u : board.getOffice().getUpgrades()) {
+            sb.append(u.getLevel()).append(u.getCurrency()).append(u.getAmount()).append('\n');
+        }
+        for (SceneCard c : cards) {
+            sb.append(c).append('|').append(c.getDescription()).append('\n');
+            for (Role r : c.getRoles()) appendRole(sb, r);
+        }
+        return sb.toString();
+    }
+
+    private static void appendRoom(StringBuilder sb, Room r) {
+        sb.append(r.getClass().getSimpleName()).append(' ').append(r.getName()).append(" ->");
+        for (Room nb : r.getNeighbors()) sb.append(' ').append(nb.getName());
+        sb.append('\n');
+        if (r instanceof Set) {
+            Set s = (Set) r;
+            for (Take t : s.getTakes()) sb.append("  take ").append(t.getNumber()).append('\n');
+            for (Role role : s.getExtras()) appendRole(sb, role);
+        }
+    }
+
+    private static void appendRole(StringBuilder sb, Role r) {
+        sb.append("  ").append(r).append(" \"").append(r.getLine()).append("\"\n");
+    }
+}
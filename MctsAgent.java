@@ -0,0 +1,561 @@
+/**
+ * Monte Carlo tree search player (UCT) with root-parallel rollouts.
+ *
+ * A turn is played as a sequence of decisions; each decision searches
+ * over the actions GameManager would accept right now:
+ *
+ *   MOVE <room> · WORK <role> · ACT · REHEARSE · UPGRADE <rank> <currency> · END
+ *
+ * Every worker thread owns a private GameManager (built from the game's
+ * Catalog, NullSink output) and its own tree.  An iteration loads nothing:
+ * it descends from the root position by applying actions through the
+ * normal command methods with an UndoLog recording, selects children by
+ * UCT, expands one new node, finishes with a rollout (SimpleBot or uniform
+ * random turns) up to a turn horizon, backs the per-seat reward up the
+ * path and rolls the game back with undoTo().  Dice are re-rolled on every
+ * descent, so the tree is open-loop: a node stands for an action sequence,
+ * and its children are filtered by what is legal in the sampled position.
+ *
+ * When the budget (wall time and/or iterations per decision) is spent, the
+ * root visit counts of all workers are summed and the most visited action
+ * is played.  Search throughput is kept in getLastStats()/getTotalStats().
+ *
+ * Usage (MCTS in seat 0 against SimpleBots, prints win rate and nodes/sec):
+ *   java MctsAgent [games] [numPlayers] [millisPerMove] [threads]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MctsAgent implements Bot, AutoCloseable {
+
+    // ── Action encoding: kind in the high bits, argument in the low 16 ───────
+    static final int END      = 0;
+    static final int MOVE     = 1 << 16;   // | room id
+    static final int WORK     = 2 << 16;   // | role slot at the current set
+    static final int ACT      = 3 << 16;
+    static final int REHEARSE = 4 << 16;
+    static final int UPGRADE  = 5 << 16;   // | level << 1 | (1 = credit)
+
+    private static final int KIND_MASK = 0xFFFF << 16;
+    private static final int ARG_MASK  = 0xFFFF;
+
+    /** Upper bound on legal actions in any position */
+    private static final int MAX_ACTIONS = 64;
+
+    /** Decisions after which a turn is ended regardless (safety net) */
+    private static final int MAX_DECISIONS_PER_TURN = 16;
+
+    /** UCT exploration constant (rewards are in [0, 1]) */
+    private static final double EXPLORATION = 0.7;
+
+    /** Score lead that maps to a reward of ~0.73 at the rollout horizon */
+    private static final double LEAD_SCALE = 8.0;
+
+    private final long    millisPerMove;
+    private final int     iterationsPerMove;
+    private final int     horizonTurns;
+    private final boolean heuristicRollouts;
+
+    private final Worker[]        workers;
+    private final ExecutorService pool;
+
+    private Stats lastStats  = new Stats(0, 0, 0, 0, 0);
+    private Stats totalStats = new Stats(0, 0, 0, 0, 0);
+
+    /**
+     * @param millisPerMove     Wall-clock budget per decision (0 = none)
+     * @param iterationsPerMove Iteration budget per decision across all
+     *                          threads (0 = none); at least one must be set
+     * @param threads           Root-parallel search workers
+     * @param horizonTurns      Turns a rollout plays before it is scored
+     * @param heuristicRollouts true = SimpleBot rollouts, false = uniform random
+     * @param seed              Seed for the workers' own randomness
+     */
+    public MctsAgent(long millisPerMove, int iterationsPerMove, int threads,
+                     int horizonTurns, boolean heuristicRollouts, long seed) {
+        if (millisPerMove <= 0 && iterationsPerMove <= 0) {
+            throw new IllegalArgumentException("MCTS needs a time or iteration budget");
+        }
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1");
+
+        this.millisPerMove     = millisPerMove;
+        this.iterationsPerMove = iterationsPerMove;
+        this.horizonTurns      = horizonTurns;
+        this.heuristicRollouts = heuristicRollouts;
+
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) workers[i] = new Worker(seed + i);
+        pool = threads == 1 ? null : Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "mcts-worker");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Time-budgeted agent using every core and heuristic rollouts.
+     * @param millisPerMove Wall-clock budget per decision
+     */
+    public MctsAgent(long millisPerMove) {
+        this(millisPerMove, 0, Runtime.getRuntime().availableProcessors(),
+             12, true, System.nanoTime());
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) throws Exception {
+        int  games      = args.length >= 1 ? Integer.parseInt(args[0]) : 4;
+        int  numPlayers = args.length >= 2 ? Integer.parseInt(args[1]) : 3;
+        long millis     = args.length >= 3 ? Long.parseLong(args[2])   : 20;
+        int  threads    = args.length >= 4 ? Integer.parseInt(args[3])
+                                           : Runtime.getRuntime().availableProcessors();
+        if (numPlayers < 2 || numPlayers > 8) {
+            System.err.println("Error: Deadwood supports 2–8 players.");
+            System.exit(1);
+        }
+
+        Catalog catalog = Catalog.load("board.xml", "cards.xml");
+        int     wins    = 0;
+        long    scoreSum = 0;
+
+        try (MctsAgent agent = new MctsAgent(millis, 0, threads, 12, true, 345)) {
+            for (int g = 0; g < games; g++) {
+                GameManager gm = new GameManager();
+                gm.setEventSink(NullSink.INSTANCE);
+                gm.setup(numPlayers, catalog);
+
+                Bot[] seats = new Bot[numPlayers];
+                seats[0] = agent;
+                for (int i = 1; i < numPlayers; i++) seats[i] = new SimpleBot(g * 31L + i);
+
+                while (!gm.isGameOver()) seats[gm.getCurrentPlayerIndex()].playTurn(gm);
+
+                List<Player> ps   = gm.getPlayers();
+                int          best = 0;
+                for (int i = 1; i < ps.size(); i++) {
+                    if (ps.get(i).getScore() > ps.get(best).getScore()) best = i;
+                }
+                if (best == 0) wins++;
+                scoreSum += ps.get(0).getScore();
+                System.out.printf("Game %d: MCTS %d, best bot %d%n", g + 1,
+                    ps.get(0).getScore(), best == 0 ? secondBest(ps) : ps.get(best).getScore());
+            }
+            System.out.printf("MCTS won %d of %d games (avg score %.1f)%n",
+                              wins, games, (double) scoreSum / Math.max(1, games));
+            System.out.println(agent.getTotalStats());
+        }
+    }
+
+    private static int secondBest(List<Player> ps) {
+        int best = 0;
+        for (int i = 1; i < ps.size(); i++) best = Math.max(best, ps.get(i).getScore());
+        return best;
+    }
+
+    // ── Bot interface ─────────────────────────────────────────────────────────
+
+    @Override
+    public void playTurn(GameManager gm) {
+        int seat = gm.getCurrentPlayerIndex();
+        int turn = gm.getTurnCount();
+        int day  = gm.getCurrentDay();
+
+        for (int d = 0; d < MAX_DECISIONS_PER_TURN; d++) {
+            apply(gm, decide(gm));
+            if (gm.isGameOver() || gm.getCurrentDay() != day
+                    || gm.getTurnCount() != turn) {
+                return;
+            }
+        }
+        if (gm.getCurrentPlayerIndex() == seat) gm.cmdEnd();
+    }
+
+    /**
+     * Searches the active player's position and returns the chosen action.
+     * @param gm Game to decide for (not modified)
+     * @return Encoded action (see apply())
+     */
+    public int decide(GameManager gm) {
+        int[] legal = new int[MAX_ACTIONS];
+        int   n     = legalActions(gm, legal);
+        if (n == 1) return legal[0];
+
+        GameState root = gm.newState();
+        gm.saveState(root);
+
+        long start    = System.nanoTime();
+        long deadline = millisPerMove > 0 ? start + millisPerMove * 1_000_000L
+                                          : Long.MAX_VALUE;
+        int  quota    = iterationsPerMove > 0
+                      ? (iterationsPerMove + workers.length - 1) / workers.length
+                      : Integer.MAX_VALUE;
+
+        for (Worker w : workers) w.prepare(gm.getCatalog(), root);
+        if (pool == null) {
+            workers[0].search(deadline, quota);
+        } else {
+            List<Future<?>> running = new ArrayList<>();
+            for (Worker w : workers) running.add(pool.submit(() -> w.search(deadline, quota)));
+            try {
+                for (Future<?> f : running) f.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("MCTS worker failed", e);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // ── Merge root statistics and pick the most visited action ────────────
+        int  best       = legal[0];
+        long bestVisits = -1;
+        long iterations = 0, nodes = 0, rollouts = 0;
+        for (Worker w : workers) {
+            iterations += w.iterations;
+            nodes      += w.nodes;
+            rollouts   += w.rolloutTurns;
+        }
+        for (int i = 0; i < n; i++) {
+            long visits = 0;
+            for (Worker w : workers) {
+                Node c = w.root.child(legal[i]);
+                if (c != null) visits += c.visits;
+            }
+            if (visits > bestVisits) {
+                bestVisits = visits;
+                best       = legal[i];
+            }
+        }
+
+        lastStats  = new Stats(iterations, nodes, rollouts, elapsed, workers.length);
+        totalStats = totalStats.plus(lastStats);
+        return best;
+    }
+
+    /** @return search throughput of the most recent decision */
+    public Stats getLastStats() { return lastStats; }
+
+    /** @return search throughput summed over every decision so far */
+    public Stats getTotalStats() { return totalStats; }
+
+    /** Stops the worker threads. */
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    // ── Actions ───────────────────────────────────────────────────────────────
+
+    /**
+     * Lists every action the active player may take right now, END last
+     * (GameManager.legalActions(), encoded).
+     * @param gm  Game to inspect
+     * @param out Receives the encoded actions (MAX_ACTIONS long)
+     * @return Number of actions written
+     */
+    static int legalActions(GameManager gm, int[] out) {
+        List<Action> legal = gm.legalActions();
+        for (int i = 0; i < legal.size(); i++) out[i] = encode(legal.get(i));
+        return legal.size();
+    }
+
+    /** @return the int encoding of a typed action */
+    static int encode(Action a) {
+        switch (a.getKind()) {
+            case MOVE:     return MOVE | a.getRoomId();
+            case WORK:     return WORK | a.getSlot();
+            case ACT:      return ACT;
+            case REHEARSE: return REHEARSE;
+            case UPGRADE:  return UPGRADE | a.getLevel() << 1 | a.getCurrency();
+            default:       return END;
+        }
+    }
+
+    /**
+     * Performs an encoded action through GameManager's command methods.
+     * @param gm     Game whose active player acts
+     * @param action Action from legalActions()
+     */
+    static void apply(GameManager gm, int action) {
+        int arg = action & ARG_MASK;
+        switch (action & KIND_MASK) {
+            case MOVE:
+                gm.cmdMove(arg);
+                break;
+            case WORK:
+                gm.cmdWork(arg);
+                break;
+            case ACT:
+                gm.cmdAct();
+                break;
+            case REHEARSE:
+                gm.cmdRehearse();
+                break;
+            case UPGRADE:
+                gm.cmdUpgrade(arg >> 1, (arg & 1) == 1 ? "credit" : "dollar");
+                break;
+            default:
+                gm.cmdEnd();
+        }
+    }
+
+    // ── Search tree ───────────────────────────────────────────────────────────
+
+    /** One action-sequence node of an open-loop tree. */
+    private static final class Node {
+        final int action;     // action leading here
+        final int actor;      // seat that took it (rewards are from its view)
+        int       visits;
+        double    reward;
+        Node[]    children = new Node[4];
+        int       childCount;
+
+        Node(int action, int actor) {
+            this.action = action;
+            this.actor  = actor;
+        }
+
+        Node child(int a) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].action == a) return children[i];
+            }
+            return null;
+        }
+
+        Node add(int a, int seat) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[childCount * 2];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            return children[childCount++] = new Node(a, seat);
+        }
+    }
+
+    /** A search thread's private game, tree and counters. */
+    private final class Worker {
+
+        private final Random    rng;
+        private final SimpleBot rolloutBot;
+        private final UndoLog   undo    = new UndoLog();
+        private final int[]     legal   = new int[MAX_ACTIONS];
+        private Node[]          path    = new Node[64];
+        private double[]        rewards = new double[0];
+        private int[]           rankWorth;
+        private GameManager     gm;
+
+        Node root;
+        long iterations, nodes, rolloutTurns;
+
+        Worker(long seed) {
+            rng        = new Random(seed);
+            rolloutBot = new SimpleBot(seed * 0x9E3779B97F4A7C15L);
+        }
+
+        /** Loads the root position into this worker's private game. */
+        void prepare(Catalog catalog, GameState state) {
+            if (gm == null || gm.getCatalog() != catalog
+                    || gm.getPlayers().size() != state.getNumPlayers()) {
+                gm = new GameManager();
+                gm.setEventSink(NullSink.INSTANCE);
+                gm.setup(state.getNumPlayers(), catalog, rng.nextLong());   // reproducible dice
+                gm.setUndoLog(undo);
+                rewards   = new double[state.getNumPlayers()];
+                rankWorth = rankWorth(gm.getBoard().getOffice());
+            }
+            undo.clear();
+            gm.loadState(state);
+            root       = new Node(-1, -1);
+            iterations = nodes = rolloutTurns = 0;
+        }
+
+        void search(long deadline, int quota) {
+            while (iterations < quota && System.nanoTime() < deadline) {
+                iterate();
+                iterations++;
+            }
+        }
+
+        /** Selection → expansion → rollout → backpropagation → undo. */
+        private void iterate() {
+            int  mark  = gm.undoMark();
+            Node node  = root;
+            int  depth = 0;
+            path[depth++] = root;
+
+            while (!gm.isGameOver()) {
+                int n     = legalActions(gm, legal);
+                int fresh = 0, untried = -1;
+
+                // Reservoir-pick a random untried action, if any
+                for (int i = 0; i < n; i++) {
+                    if (node.child(legal[i]) == null && rng.nextInt(++fresh) == 0) {
+                        untried = legal[i];
+                    }
+                }
+                boolean expand = fresh > 0;
+                Node    next   = expand ? node.add(untried, gm.getCurrentPlayerIndex())
+                                        : select(node, n);
+
+                apply(gm, next.action);
+                nodes++;
+                if (depth == path.length) {
+                    Node[] grown = new Node[depth * 2];
+                    System.arraycopy(path, 0, grown, 0, depth);
+                    path = grown;
+                }
+                path[depth++] = next;
+                node = next;
+                if (expand) break;
+            }
+
+            rollout();
+            score();
+            for (int i = 0; i < depth; i++) {
+                Node v = path[i];
+                v.visits++;
+                if (v.actor >= 0) v.reward += rewards[v.actor];
+            }
+            gm.undoTo(mark);
+        }
+
+        /** UCT over the children whose action is legal in this sample. */
+        private Node select(Node node, int n) {
+            double logN  = Math.log(Math.max(1, node.visits));
+            Node   best  = null;
+            double score = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                Node   c = node.child(legal[i]);
+                double u = c.reward / c.visits
+                         + EXPLORATION * Math.sqrt(logN / c.visits);
+                if (u > score) {
+                    score = u;
+                    best  = c;
+                }
+            }
+            return best;
+        }
+
+        /** Plays up to horizonTurns turns with the rollout policy. */
+        private void rollout() {
+            for (int t = 0; t < horizonTurns && !gm.isGameOver(); t++) {
+                if (heuristicRollouts) rolloutBot.playTurn(gm);
+                else                   randomTurn();
+                rolloutTurns++;
+            }
+        }
+
+        /** Uniformly random legal actions until the turn is over. */
+        private void randomTurn() {
+            int turn = gm.getTurnCount();
+            int day  = gm.getCurrentDay();
+            for (int d = 0; d < MAX_DECISIONS_PER_TURN; d++) {
+                int n = legalActions(gm, legal);
+                apply(gm, legal[rng.nextInt(n)]);
+                if (gm.isGameOver() || gm.getCurrentDay() != day
+                        || gm.getTurnCount() != turn) {
+                    return;
+                }
+            }
+            gm.cmdEnd();
+        }
+
+        /**
+         * Fills rewards[] in [0, 1]: a finished game pays 1 to the winner(s)
+         * shared; otherwise each seat gets a logistic of its lead over the
+         * best opponent in score plus the remaining value of its rank.
+         */
+        private void score() {
+            List<Player> ps = gm.getPlayers();
+            int          np = ps.size();
+
+            if (gm.isGameOver()) {
+                int best = Integer.MIN_VALUE, ties = 0;
+                for (Player p : ps) {
+                    if (p.getScore() > best) { best = p.getScore(); ties = 1; }
+                    else if (p.getScore() == best) ties++;
+                }
+                for (int i = 0; i < np; i++) {
+                    rewards[i] = ps.get(i).getScore() == best ? 1.0 / ties : 0.0;
+                }
+                return;
+            }
+
+            double left  = (double) (gm.getTotalDays() - gm.getCurrentDay() + 1)
+                         / gm.getTotalDays();
+            double first = Double.NEGATIVE_INFINITY, second = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < np; i++) {
+                Player p = ps.get(i);
+                double v = p.getScore() + left * rankWorth[p.getRank()];
+                rewards[i] = v;
+                if (v > first) { second = first; first = v; }
+                else if (v > second) second = v;
+            }
+            for (int i = 0; i < np; i++) {
+                double lead = rewards[i] - (rewards[i] == first ? second : first);
+                rewards[i] = 1.0 / (1.0 + Math.exp(-lead / LEAD_SCALE));
+            }
+        }
+    }
+
+    /** @return dollar cost of reaching each rank, indexed by rank */
+    private static int[] rankWorth(CastingOffice office) {
+        int[] worth = new int[8];
+        for (int r = 2; r < worth.length; r++) {
+            Upgrade u = office.findUpgrade(r, "dollar");
+            worth[r] = u != null ? u.getAmount() : worth[r - 1];
+        }
+        return worth;
+    }
+
+    // ── Statistics ────────────────────────────────────────────────────────────
+
+    /** Immutable search throughput figures. */
+    public static final class Stats {
+        private final long iterations;
+        private final long nodes;
+        private final long rolloutTurns;
+        private final long nanos;
+        private final int  threads;
+
+        Stats(long iterations, long nodes, long rolloutTurns, long nanos, int threads) {
+            this.iterations   = iterations;
+            this.nodes        = nodes;
+            this.rolloutTurns = rolloutTurns;
+            this.nanos        = nanos;
+            this.threads      = threads;
+        }
+
+        Stats plus(Stats o) {
+            return new Stats(iterations + o.iterations, nodes + o.nodes,
+                             rolloutTurns + o.rolloutTurns, nanos + o.nanos, o.threads);
+        }
+
+        public long getIterations()   { return iterations;   }
+        public long getNodes()        { return nodes;        }
+        public long getRolloutTurns() { return rolloutTurns; }
+        public long getNanos()        { return nanos;        }
+
+        /** @return tree nodes visited per wall-clock second, all threads */
+        public double nodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1e9 / nanos;
+        }
+
+        /** @return playouts per wall-clock second, all threads */
+        public double iterationsPerSecond() {
+            return nanos == 0 ? 0 : iterations * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("MCTS: %d iterations, %d nodes, %d rollout turns in %.2f s"
+                + " on %d thread(s) – %.0f nodes/sec, %.0f playouts/sec",
+                iterations, nodes, rolloutTurns, nanos / 1e9, threads,
+                nodesPerSecond(), iterationsPerSecond());
+        }
+    }
+}
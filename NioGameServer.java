@@ -0,0 +1,554 @@
+/**
+ * Non-blocking alternative to GameServer built on a single NIO Selector.
+ *
+ * Speaks the same session protocol (new <players> / join <id> / console
+ * commands / bye, every response ending in the "> " prompt), but one event
+ * loop thread serves every connection, so tens of thousands of mostly idle
+ * players cost a socket and a small object each instead of a thread.
+ *
+ *   Reading  – a connection borrows a direct ByteBuffer from a pool only
+ *              while it has a partial line buffered and returns it when the
+ *              buffer drains, so idle connections hold no buffer at all.
+ *              Lines are framed on '\n' in place.
+ *   Parsing  – command words and arguments are matched as byte ranges
+ *              against constant keywords, room names and role names, and
+ *              dispatched straight to GameManager.cmdMove/cmdWork/cmdAct/…
+ *              with the model's own name Strings; a String is only built
+ *              for an error message.
+ *   Writing  – responses are queued per connection and written as far as
+ *              the socket accepts; the rest waits for OP_WRITE, so a slow
+ *              reader never blocks the loop (one that falls more than
+ *              MAX_QUEUED bytes behind is disconnected).
+ *
+ * Every table's commands run on the loop thread, so they are serialized
+ * without locks.
+ *
+ * Usage:
+ *   java NioGameServer [port] [boardXML] [cardsXML]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class NioGameServer implements AutoCloseable {
+
+    /** Longest accepted command line in bytes (= pooled buffer size) */
+    static final int LINE_MAX = 512;
+
+    /** Unsent response bytes after which a connection is dropped */
+    static final int MAX_QUEUED = 1 << 20;
+
+    private static final byte[] PROMPT   = GameServer.PROMPT.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GREETING = ("Deadwood server. 'new <players>' starts a table,"
+        + " 'join <id>' joins one, 'bye' disconnects.\n" + GameServer.PROMPT)
+        .getBytes(StandardCharsets.UTF_8);
+
+    // ── Command keywords (lower case) ────────────────────────────────────────
+    private static final byte[] K_NEW      = utf8("new");
+    private static final byte[] K_JOIN     = utf8("join");
+    private static final byte[] K_BYE      = utf8("bye");
+    private static final byte[] K_WHO      = utf8("who");
+    private static final byte[] K_WHERE    = utf8("where");
+    private static final byte[] K_BOARD    = utf8("board");
+    private static final byte[] K_PLAYERS  = utf8("players");
+    private static final byte[] K_ROLES    = utf8("roles");
+    private static final byte[] K_UPGRADES = utf8("upgrades");
+    private static final byte[] K_HELP     = utf8("help");
+    private static final byte[] K_SAVE     = utf8("save");
+    private static final byte[] K_STATS    = utf8("stats");
+    private static final byte[] K_PLAN     = utf8("plan");
+    private static final byte[] K_MOVE     = utf8("move");
+    private static final byte[] K_WORK     = utf8("work");
+    private static final byte[] K_ROLE     = utf8("role");
+    private static final byte[] K_ACT      = utf8("act");
+    private static final byte[] K_REHEARSE = utf8("rehearse");
+    private static final byte[] K_R        = utf8("r");
+    private static final byte[] K_UPGRADE  = utf8("upgrade");
+    private static final byte[] K_DOLLAR   = utf8("dollar");
+    private static final byte[] K_CREDIT   = utf8("credit");
+    private static final byte[] K_END      = utf8("end");
+    private static final byte[] K_GAME     = utf8("game");
+    private static final byte[] K_QUIT     = utf8("quit");
+    private static final byte[] K_Q        = utf8("q");
+
+    private final Catalog             catalog;
+    private final Selector            selector;
+    private final ServerSocketChannel listener;
+
+    // ── Loop-thread state ─────────────────────────────────────────────────────
+    private final ArrayDeque<ByteBuffer> bufferPool = new ArrayDeque<>();
+    private final Map<Integer, Table>    tables     = new HashMap<>();
+    private int                          nextId     = 1;
+
+    private volatile boolean running = true;
+    private volatile int     sessions;
+    private volatile int     liveTables;
+
+    /**
+     * Binds the listening channel (port 0 picks a free port).
+     * @param port    TCP port
+     * @param catalog Board/card catalog shared by every table
+     */
+    public NioGameServer(int port, Catalog catalog) throws IOException {
+        this.catalog  = catalog;
+        this.selector = Selector.open();
+        this.listener = ServerSocketChannel.open();
+        listener.bind(new InetSocketAddress(port), 4096);
+        listener.configureBlocking(false);
+        listener.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) {
+        int    port      = args.length >= 1 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+        String boardFile = args.length >= 2 ? args[1] : "board.xml";
+        String cardsFile = args.length >= 3 ? args[2] : "cards.xml";
+
+        EngineMetrics.registerMBean();
+        try (NioGameServer server = new NioGameServer(port, Catalog.load(boardFile, cardsFile))) {
+            System.out.println("Deadwood NIO server listening on port " + server.getPort());
+            server.serve();
+        } catch (Exception e) {
+            System.err.println("Server failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // ── Event loop ────────────────────────────────────────────────────────────
+
+    /** @return the bound port */
+    public int getPort() { return listener.socket().getLocalPort(); }
+
+    /** @return open connections */
+    public int sessionCount() { return sessions; }
+
+    /** @return tables with a game in progress */
+    public int tableCount() { return liveTables; }
+
+    /** Runs the event loop on the calling thread until close(). */
+    public void serve() throws IOException {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Conn c = (Conn) key.attachment();
+                    try {
+                        if (key.isReadable()) read(c);
+                        if (key.isValid() && key.isWritable()) flush(c);
+                    } catch (IOException e) {
+                        drop(c);
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        }
+    }
+
+    /** Stops the event loop; open connections are closed by it. */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while ((ch = listener.accept()) != null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Conn c = new Conn(ch);
+            c.key  = ch.register(selector, SelectionKey.OP_READ, c);
+            sessions++;
+            send(c, GREETING);
+        }
+    }
+
+    private void drop(Conn c) {
+        if (!c.key.isValid()) return;
+        c.key.cancel();
+        try {
+            c.ch.close();
+        } catch (IOException e) {
+            // already gone
+        }
+        release(c);
+        leave(c);
+        sessions--;
+    }
+
+    // ── Reading and framing ───────────────────────────────────────────────────
+
+    private void read(Conn c) throws IOException {
+        if (c.in == null) c.in = bufferPool.isEmpty()
+                               ? ByteBuffer.allocateDirect(LINE_MAX) : bufferPool.pop();
+        int n = c.ch.read(c.in);
+        if (n < 0) {
+            drop(c);
+            return;
+        }
+
+        ByteBuffer buf   = c.in;
+        int        start = 0;
+        int        end   = buf.position();
+        for (int i = 0; i < end && c.key.isValid(); i++) {
+            if (buf.get(i) != '\n') continue;
+            if (c.discarding) c.discarding = false;      // tail of an overlong line
+            else              line(c, buf, start, i);
+            start = i + 1;
+        }
+        if (!c.key.isValid()) return;
+
+        if (start == 0 && end == buf.capacity()) {        // no newline in a full buffer
+            if (!c.discarding) send(c, utf8("Line too long.\n" + GameServer.PROMPT));
+            c.discarding = true;
+            buf.clear();
+        } else {
+            buf.limit(end).position(start);
+            buf.compact();
+        }
+        if (buf.position() == 0) release(c);
+    }
+
+    private void release(Conn c) {
+        if (c.in == null) return;
+        c.in.clear();
+        bufferPool.push(c.in);
+        c.in = null;
+    }
+
+    /** Handles one framed line buf[from, to) (without the '\n'). */
+    private void line(Conn c, ByteBuffer buf, int from, int to) {
+        if (to > from && buf.get(to - 1) == '\r') to--;
+        from = skipSpaces(buf, from, to);
+        while (to > from && isSpace(buf.get(to - 1))) to--;
+
+        int cmdEnd = tokenEnd(buf, from, to);
+        if (is(buf, from, cmdEnd, K_BYE) && cmdEnd == to) {
+            drop(c);
+            return;
+        }
+        if (c.table != null && c.table.gm.isGameOver()) leave(c);
+
+        if (c.table == null) lobby(c, buf, from, cmdEnd, to);
+        else if (from == to) send(c, PROMPT);
+        else {
+            Table t = c.table;
+            command(t, buf, from, cmdEnd, to);
+            if (t.gm.isGameOver()) {
+                t.sink.getStream().println("Game over. 'new <players>' starts another table.");
+            }
+            broadcast(t, t.sink.drainBytes());
+            if (t.gm.isGameOver()) {
+                tables.remove(t.id);                      // seats are left lazily
+                liveTables = tables.size();
+            }
+        }
+    }
+
+    // ── Lobby ─────────────────────────────────────────────────────────────────
+
+    private void lobby(Conn c, ByteBuffer buf, int from, int cmdEnd, int to) {
+        int argFrom = skipSpaces(buf, cmdEnd, to);
+        int argEnd  = tokenEnd(buf, argFrom, to);
+        int value   = argEnd == to ? parseInt(buf, argFrom, argEnd) : -1;
+
+        if (is(buf, from, cmdEnd, K_NEW) && value >= 0) {
+            if (value < 2 || value > 8) {
+                send(c, utf8("Deadwood supports 2–8 players.\n" + GameServer.PROMPT));
+                return;
+            }
+            Table t = new Table(nextId++, value, catalog);
+            tables.put(t.id, t);
+            liveTables = tables.size();
+            seat(c, t, "Table " + t.id + " created.");
+        } else if (is(buf, from, cmdEnd, K_JOIN) && value >= 0) {
+            Table t = tables.get(value);
+            if (t == null) send(c, utf8("No table " + value + ".\n" + GameServer.PROMPT));
+            else           seat(c, t, "Joined table " + t.id + ".");
+        } else {
+            send(c, utf8("Start with 'new <players>' or 'join <table id>'.\n"
+                          + GameServer.PROMPT));
+        }
+    }
+
+    private void seat(Conn c, Table t, String banner) {
+        c.table = t;
+        t.conns.add(c);
+        if (t.sink.isEmpty()) t.gm.cmdWho();
+        t.sink.getStream().println(banner);
+        byte[] text = t.sink.drainBytes();
+        send(c, withPrompt(text));
+    }
+
+    private void leave(Conn c) {
+        Table t = c.table;
+        if (t == null) return;
+        c.table = null;
+        t.conns.remove(c);
+        if (t.conns.isEmpty() || t.gm.isGameOver()) {
+            tables.remove(t.id);
+            liveTables = tables.size();
+        }
+    }
+
+    // ── Commands ──────────────────────────────────────────────────────────────
+
+    /**
+     * Dispatches one command line to the table's GameManager, mirroring
+     * Deadwood.processInput without allocating on the success path.
+     */
+    private static void command(Table t, ByteBuffer buf, int from, int cmdEnd, int to) {
+        GameManager gm   = t.gm;
+        PrintStream out  = t.sink.getStream();
+        int         a0   = skipSpaces(buf, cmdEnd, to);   // first argument
+        int         a0e  = tokenEnd(buf, a0, to);
+        boolean     more = a0 < to;
+
+        if (is(buf, from, cmdEnd, K_WHO))                 gm.cmdWho();
+        else if (is(buf, from, cmdEnd, K_WHERE))          gm.cmdWhere();
+        else if (is(buf, from, cmdEnd, K_BOARD)
+                 || is(buf, from, cmdEnd, K_PLAYERS))     gm.cmdBoard();
+        else if (is(buf, from, cmdEnd, K_ROLES))          gm.cmdRoles();
+        else if (is(buf, from, cmdEnd, K_UPGRADES))       gm.cmdUpgrades();
+        else if (is(buf, from, cmdEnd, K_HELP))           Deadwood.printHelp(out);
+        else if (is(buf, from, cmdEnd, K_SAVE)) {
+            Deadwood.save(gm, more ? decode(buf, a0, to).trim() : null, out);
+        }
+        else if (is(buf, from, cmdEnd, K_STATS)) {
+            gm.flushMetrics();
+            out.print(EngineMetrics.GLOBAL.getReport());
+        }
+        else if (is(buf, from, cmdEnd, K_ACT))            gm.cmdAct();
+        else if (is(buf, from, cmdEnd, K_REHEARSE)
+                 || is(buf, from, cmdEnd, K_R))           gm.cmdRehearse();
+        else if (is(buf, from, cmdEnd, K_QUIT)
+                 || is(buf, from, cmdEnd, K_Q)) {
+            if (more) unknown(out, buf, from, cmdEnd);
+            else      gm.cmdQuit();
+        }
+        else if (is(buf, from, cmdEnd, K_END)) {
+            if (more && is(buf, a0, a0e, K_GAME)) gm.cmdQuit();
+            else                                  gm.cmdEnd();
+        }
+        else if (is(buf, from, cmdEnd, K_MOVE)) {
+            if (!more) out.println("Usage: move <room name>");
+            else       gm.cmdMove(roomName(gm.getBoard(), buf, a0, to));
+        }
+        else if (is(buf, from, cmdEnd, K_WORK) || is(buf, from, cmdEnd, K_ROLE)) {
+            if (!more) out.println("Usage: work <role name>");
+            else       gm.cmdWork(roleName(gm.activePlayer().getLocation(), buf, a0, to));
+        }
+        else if (is(buf, from, cmdEnd, K_PLAN)) {
+            int rank = more ? parseInt(buf, a0, a0e) : 0;
+            if (rank < 0) out.println("Usage: plan [rank]  (rank must be a number)");
+            else          gm.cmdPlan(rank);
+        }
+        else if (is(buf, from, cmdEnd, K_UPGRADE)) {
+            int a1 = skipSpaces(buf, a0e, to);
+            int a1e = tokenEnd(buf, a1, to);
+            if (a1 == to) {
+                out.println("Usage: upgrade <level> <dollar|credit>");
+                return;
+            }
+            int level = parseInt(buf, a0, a0e);
+            if (level < 0) {
+                out.println("Usage: upgrade <level> <dollar|credit>"
+                    + "  (level must be a number)");
+                return;
+            }
+            String currency = is(buf, a1, a1e, K_DOLLAR) ? "dollar"
+                            : is(buf, a1, a1e, K_CREDIT) ? "credit"
+                            : decode(buf, a1, a1e).toLowerCase();
+            gm.cmdUpgrade(level, currency);
+        }
+        else unknown(out, buf, from, cmdEnd);
+    }
+
+    private static void unknown(PrintStream out, ByteBuffer buf, int from, int to) {
+        out.println("Unknown command: \"" + decode(buf, from, to).toLowerCase()
+            + "\".  Type 'help' for a list of commands.");
+    }
+
+    /** @return the board's own name String for buf[from, to), else a decoded copy */
+    private static String roomName(Board board, ByteBuffer buf, int from, int to) {
+        for (int id = 0; id < board.roomCount(); id++) {
+            String name = board.getRoom(id).getName();
+            if (matches(buf, from, to, name)) return name;
+        }
+        return decode(buf, from, to);
+    }
+
+    /** @return the role's own name String for buf[from, to), else a decoded copy */
+    private static String roleName(Room loc, ByteBuffer buf, int from, int to) {
+        if (loc instanceof Set) {
+            Set set = (Set) loc;
+            for (int slot = 0, n = set.roleCount(); slot < n; slot++) {
+                String name = set.getRoleAt(slot).getName();
+                if (matches(buf, from, to, name)) return name;
+            }
+        }
+        return decode(buf, from, to);
+    }
+
+    // ── Writing ───────────────────────────────────────────────────────────────
+
+    private void broadcast(Table t, byte[] text) {
+        byte[] framed = withPrompt(text);
+        for (Conn c : new ArrayList<>(t.conns)) send(c, framed);
+    }
+
+    /** Writes as much as the socket takes now and queues the rest. */
+    private void send(Conn c, byte[] bytes) {
+        if (!c.key.isValid()) return;
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        try {
+            if (c.out.isEmpty()) c.ch.write(bb);
+        } catch (IOException e) {
+            drop(c);
+            return;
+        }
+        if (!bb.hasRemaining()) return;
+
+        c.out.add(bb);
+        c.queued += bb.remaining();
+        if (c.queued > MAX_QUEUED) {
+            drop(c);                                      // reader is not keeping up
+            return;
+        }
+        c.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void flush(Conn c) throws IOException {
+        while (!c.out.isEmpty()) {
+            ByteBuffer bb     = c.out.peek();
+            int        before = bb.remaining();
+            c.ch.write(bb);
+            c.queued -= before - bb.remaining();
+            if (bb.hasRemaining()) return;                // socket full again
+            c.out.poll();
+        }
+        c.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private static byte[] withPrompt(byte[] text) {
+        byte[] framed = new byte[text.length + PROMPT.length];
+        System.arraycopy(text, 0, framed, 0, text.length);
+        System.arraycopy(PROMPT, 0, framed, text.length, PROMPT.length);
+        return framed;
+    }
+
+    // ── Byte-range helpers ────────────────────────────────────────────────────
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static int skipSpaces(ByteBuffer buf, int i, int to) {
+        while (i < to && isSpace(buf.get(i))) i++;
+        return i;
+    }
+
+    private static int tokenEnd(ByteBuffer buf, int i, int to) {
+        while (i < to && !isSpace(buf.get(i))) i++;
+        return i;
+    }
+
+    /** @return true if buf[from, to) equals the lower-case keyword, ignoring case */
+    private static boolean is(ByteBuffer buf, int from, int to, byte[] keyword) {
+        if (to - from != keyword.length) return false;
+        for (int i = 0; i < keyword.length; i++) {
+            byte b = buf.get(from + i);
+            if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+            if (b != keyword[i]) return false;
+        }
+        return true;
+    }
+
+    /** @return true if buf[from, to) spells name, ignoring ASCII case */
+    private static boolean matches(ByteBuffer buf, int from, int to, String name) {
+        if (to - from != name.length()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            int b = buf.get(from + i) & 0xFF;
+            int c = name.charAt(i);
+            if (b != c && Character.toLowerCase(b) != Character.toLowerCase(c)) return false;
+        }
+        return true;
+    }
+
+    /** @return the non-negative decimal in buf[from, to), or -1 */
+    private static int parseInt(ByteBuffer buf, int from, int to) {
+        if (from == to || to - from > 9) return -1;
+        int v = 0;
+        for (int i = from; i < to; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private static String decode(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ── Connection and table state (loop thread only) ─────────────────────────
+
+    private static final class Conn {
+        final SocketChannel          ch;
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>(2);
+        SelectionKey                 key;
+        ByteBuffer                   in;           // pooled; null while idle
+        int                          queued;       // bytes waiting in out
+        boolean                      discarding;   // skipping an overlong line
+        Table                        table;
+
+        Conn(SocketChannel ch) { this.ch = ch; }
+    }
+
+    private static final class Table {
+        final int          id;
+        final GameManager  gm;
+        final BufferedSink sink  = new BufferedSink();
+        final List<Conn>   conns = new ArrayList<>(2);
+
+        Table(int id, int players, Catalog catalog) {
+            this.id = id;
+            this.gm = new GameManager();
+            gm.setEventSink(sink);
+            gm.setMetrics(EngineMetrics.GLOBAL);
+            gm.setup(players, catalog);
+        }
+    }
+}
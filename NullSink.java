@@ -0,0 +1,13 @@
+/**
+ * A GameEventSink that discards every event.
+ * Used for headless simulation where nothing should be rendered.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public final class NullSink implements GameEventSink {
+
+    /** Shared instance – the sink is stateless. */
+    public static final NullSink INSTANCE = new NullSink();
+
+    private NullSink() {}
+}
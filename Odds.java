@@ -0,0 +1,178 @@
+/**
+ * Exact probability tables for acting and for scene-wrap payouts.
+ *
+ *   Acting   – cmdAct succeeds when 1d6 + rehearsal chips ≥ budget.
+ *   Payouts  – handleSceneWrap rolls <budget> dice, sorts them descending
+ *              and deals them round-robin to the k starring players ordered
+ *              by role level, so slot j receives sorted dice j, j+k, j+2k, …
+ *
+ * The expected value of the i-th highest of n dice is computed exactly by
+ * dynamic programming over sorted dice multisets: every multiset (how many
+ * 6s, 5s, …, 1s) is visited once with its multinomial probability, which
+ * is C(n+5, 5) states (462 for six dice) instead of 6^n ordered rolls.
+ * Those order statistics are memoized per dice count; an Odds instance
+ * then lays out act and payout tables for a set of budgets so every lookup
+ * is an array access.  Catalog builds one for the budgets in cards.xml.
+ *
+ * Usage (prints the tables for cards.xml):
+ *   java Odds [boardXML] [cardsXML]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Odds {
+
+    public static final int SIDES = 6;
+
+    /** Dice count → expected i-th highest die, shared by every table */
+    private static final Map<Integer, double[]> ORDER_STATS = new ConcurrentHashMap<>();
+
+    private final int          maxStarring;
+    private final double[][]   act;       // [budget][chips]        → P(success)
+    private final double[][][] payout;    // [budget][starring][slot] → E[$]
+
+    private Odds(int maxBudget, int maxStarring) {
+        this.maxStarring = maxStarring;
+        act    = new double[maxBudget + 1][];
+        payout = new double[maxBudget + 1][][];
+    }
+
+    // ── Construction ──────────────────────────────────────────────────────────
+
+    /**
+     * Precomputes act and payout tables for the given budgets.
+     * @param budgets     Scene budgets to cover (duplicates are fine)
+     * @param maxStarring Most starring roles any scene has
+     * @return Tables with O(1) lookups for those budgets
+     */
+    public static Odds forBudgets(int[] budgets, int maxStarring) {
+        int maxBudget = 0;
+        for (int b : budgets) maxBudget = Math.max(maxBudget, b);
+
+        Odds odds = new Odds(maxBudget, maxStarring);
+        for (int b : budgets) {
+            if (odds.act[b] == null) odds.fill(b);
+        }
+        return odds;
+    }
+
+    private void fill(int budget) {
+        double[] hit = new double[Math.max(1, budget)];
+        for (int chips = 0; chips < hit.length; chips++) {
+            int need = budget - chips;                       // lowest winning die
+            hit[chips] = Math.min(SIDES, Math.max(0, SIDES + 1 - need)) / (double) SIDES;
+        }
+
+        double[]   order = orderStatistics(budget);
+        double[][] slots = new double[maxStarring + 1][];
+        for (int k = 1; k <= maxStarring; k++) {
+            slots[k] = new double[k];
+            for (int i = 0; i < budget; i++) slots[k][i % k] += order[i];
+        }
+
+        act[budget]    = hit;
+        payout[budget] = slots;
+    }
+
+    // ── Lookups ───────────────────────────────────────────────────────────────
+
+    /**
+     * @param budget Scene budget
+     * @param chips  Rehearsal chips (0 … budget-1)
+     * @return probability that an act roll succeeds
+     */
+    public double actSuccess(int budget, int chips) {
+        double[] row = act[budget];
+        return row[Math.min(chips, row.length - 1)];
+    }
+
+    /**
+     * @param budget   Scene budget (= dice rolled at the wrap)
+     * @param starring Starring players on the card (1 … maxStarring)
+     * @param slot     Player's position by role level, 0 = highest
+     * @return expected dollars that slot receives when the scene wraps
+     */
+    public double expectedPayout(int budget, int starring, int slot) {
+        return payout[budget][starring][slot];
+    }
+
+    /** @return true if tables were built for the given budget */
+    public boolean covers(int budget) {
+        return budget >= 0 && budget < act.length && act[budget] != null;
+    }
+
+    // ── Dice DP ───────────────────────────────────────────────────────────────
+
+    /**
+     * Exact expected value of each order statistic of n fair dice.
+     * @param n Number of dice
+     * @return e where e[i] = E[i-th highest die], i = 0 … n-1 (shared; do not modify)
+     */
+    public static double[] orderStatistics(int n) {
+        return ORDER_STATS.computeIfAbsent(n, Odds::computeOrderStatistics);
+    }
+
+    private static double[] computeOrderStatistics(int n) {
+        double[] sum  = new double[n];
+        double[] fact = new double[n + 1];
+        fact[0] = 1;
+        for (int i = 1; i <= n; i++) fact[i] = fact[i - 1] * i;
+
+        // Probability of one ordered roll; multiset weight = n! / ∏ count!
+        double each = Math.pow(SIDES, -n);
+        visit(SIDES, n, fact[n] * each, new int[SIDES + 1], fact, sum);
+        return sum;
+    }
+
+    /**
+     * Enumerates sorted multisets from the highest face down: chooses how
+     * many dice show `face`, then recurses to face-1 with the rest.
+     *
+     * @param face   Face being assigned
+     * @param left   Dice not yet assigned a face
+     * @param weight n! · 6^-n / ∏ count! so far
+     * @param counts counts[f] = dice showing f
+     */
+    private static void visit(int face, int left, double weight,
+                              int[] counts, double[] fact, double[] sum) {
+        if (face == 1) {
+            counts[1] = left;
+            double p = weight / fact[left];
+            int    i = 0;
+            for (int f = SIDES; f >= 1; f--) {
+                for (int c = 0; c < counts[f]; c++) sum[i++] += p * f;
+            }
+            return;
+        }
+        for (int c = 0; c <= left; c++) {
+            counts[face] = c;
+            visit(face - 1, left - c, weight / fact[c], counts, fact, sum);
+        }
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) throws Exception {
+        String  boardFile = args.length >= 1 ? args[0] : "board.xml";
+        String  cardsFile = args.length >= 2 ? args[1] : "cards.xml";
+        Catalog catalog   = Catalog.load(boardFile, cardsFile);
+        Odds    odds      = catalog.getOdds();
+
+        for (int b = 0; b < odds.act.length; b++) {
+            if (!odds.covers(b)) continue;
+            StringBuilder sb = new StringBuilder("Budget " + b + "\n  act success by chips:");
+            for (int c = 0; c < odds.act[b].length; c++) {
+                sb.append(String.format(" %d→%.3f", c, odds.actSuccess(b, c)));
+            }
+            for (int k = 1; k <= odds.maxStarring; k++) {
+                sb.append("\n  payout with ").append(k).append(" starring:");
+                for (int s = 0; s < k; s++) {
+                    sb.append(String.format(" $%.3f", odds.expectedPayout(b, k, s)));
+                }
+            }
+            System.out.println(sb);
+        }
+    }
+}
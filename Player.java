@@ -23,6 +23,12 @@ public class Player {
     private int    rehearsalChips; // bonus to acting dice roll
 
     // ── Per-turn flags (reset by resetTurnState()) ────────────────────────────
+    /** Bit values used by getTurnFlags() / setTurnFlags() */
+    public static final int MOVED      = 1;
+    public static final int TOOK_ROLE  = 2;
+    public static final int ACTED      = 4;
+    public static final int REHEARSED  = 8;
+
     private boolean hasMoved;
     private boolean hasTakenRole;
     private boolean hasActed;
@@ -63,6 +69,11 @@ public class Player {
     public void addRehearsalChip() { rehearsalChips++; }
     public void resetRehearsalChips() { rehearsalChips = 0; }
 
+    /** Direct setters used when restoring a saved GameState. */
+    public void setDollars(int d)  { dollars = d; }
+    public void setCredits(int c)  { credits = c; }
+    public void setRehearsalChips(int c) { rehearsalChips = c; }
+
     // ── Role / location management ────────────────────────────────────────────
 
     /**
@@ -107,6 +118,20 @@ public class Player {
     public void setHasActed(boolean b)      { hasActed = b;      }
     public void setHasRehearsed(boolean b)  { hasRehearsed = b;  }
 
+    /** @return per-turn flags packed as MOVED | TOOK_ROLE | ACTED | REHEARSED */
+    public int getTurnFlags() {
+        return (hasMoved ? MOVED : 0) | (hasTakenRole ? TOOK_ROLE : 0)
+             | (hasActed ? ACTED : 0) | (hasRehearsed ? REHEARSED : 0);
+    }
+
+    /** Restores per-turn flags packed by getTurnFlags(). */
+    public void setTurnFlags(int flags) {
+        hasMoved     = (flags & MOVED)     != 0;
+        hasTakenRole = (flags & TOOK_ROLE) != 0;
+        hasActed     = (flags & ACTED)     != 0;
+        hasRehearsed = (flags & REHEARSED) != 0;
+    }
+
     /**
      * Returns a summary line matching the 'who' command format.
      */
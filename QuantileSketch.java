@@ -0,0 +1,102 @@
+/**
+ * Fixed-memory, mergeable quantile sketch for non-negative int values
+ * (scores, turn counts, …).
+ *
+ * Values are counted in a log-linear histogram: below 2^SUB_BITS every
+ * value has its own bucket, above that each power of two is split into
+ * 2^SUB_BITS linear buckets, so a quantile is off by at most 1/32 of its
+ * value.  The whole int range fits in 27 * 32 buckets, so the sketch is the
+ * same ~7 KB after one value or a billion, and two sketches merge by adding
+ * bucket counts.
+ *
+ * Not thread-safe: each worker keeps its own and they are merged at the end.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+public final class QuantileSketch {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB      = 1 << SUB_BITS;
+    private static final int BUCKETS  = (32 - SUB_BITS) * SUB;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long         count;
+    private long         sum;
+    private int          min = Integer.MAX_VALUE;
+    private int          max = Integer.MIN_VALUE;
+
+    // ── Recording ─────────────────────────────────────────────────────────────
+
+    /**
+     * Counts one value.
+     * @param value Non-negative value
+     */
+    public void add(int value) {
+        if (value < 0) throw new IllegalArgumentException("negative value " + value);
+        buckets[index(value)]++;
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds another sketch's counts into this one.
+     * @param other Sketch filled by a different worker
+     * @return this sketch
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] += other.buckets[i];
+        count += other.count;
+        sum   += other.sum;
+        min    = Math.min(min, other.min);
+        max    = Math.max(max, other.max);
+        return this;
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    public long   getCount() { return count; }
+    public int    getMin()   { return count == 0 ? 0 : min; }
+    public int    getMax()   { return count == 0 ? 0 : max; }
+    public double getMean()  { return count == 0 ? 0 : (double) sum / count; }
+
+    /**
+     * @param q Quantile in [0, 1]
+     * @return the middle of the bucket holding the q-quantile (exact for
+     *         values below 32), or 0 if nothing was recorded
+     */
+    public int quantile(double q) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                long mid = (lowerBound(i) + upperBound(i)) / 2;
+                return (int) Math.max(min, Math.min(max, mid));
+            }
+        }
+        return max;
+    }
+
+    // ── Bucketing ─────────────────────────────────────────────────────────────
+
+    static int index(int v) {
+        int exp = 31 - Integer.numberOfLeadingZeros(v);
+        if (exp < SUB_BITS) return v;
+        return (exp - SUB_BITS + 1) * SUB + ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB) return index;
+        int exp = index / SUB + SUB_BITS - 1;
+        return (long) (SUB + index % SUB) << (exp - SUB_BITS);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB) return index;
+        int exp = index / SUB + SUB_BITS - 1;
+        return ((long) (SUB + index % SUB + 1) << (exp - SUB_BITS)) - 1;
+    }
+}
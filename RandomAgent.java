@@ -0,0 +1,27 @@
+/**
+ * Baseline Agent that picks uniformly among the legal actions.
+ *
+ * Useful as the floor of a Tournament and for fuzzing the rules: it
+ * reaches positions a sensible player never would.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+import java.util.Random;
+
+public class RandomAgent implements Agent {
+
+    private final Random rng;
+
+    /**
+     * @param seed Seed for the agent's choices
+     */
+    public RandomAgent(long seed) {
+        this.rng = new Random(seed);
+    }
+
+    @Override
+    public Action chooseAction(GameManager gm, List<Action> legal) {
+        return legal.get(rng.nextInt(legal.size()));
+    }
+}
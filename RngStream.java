@@ -0,0 +1,99 @@
+/**
+ * Seedable, splittable pseudo-random stream (SplitMix64).
+ *
+ * The same generator family as java.util.SplittableRandom – a 64-bit
+ * counter advanced by an odd "gamma" and passed through a mixing function –
+ * but with its two-long state exposed through getState()/setState(), so a
+ * saved game can resume its dice exactly where they stopped.  split()
+ * derives a statistically independent child stream; GameManager splits one
+ * root stream per game seed into separate shuffle, act and payout streams.
+ *
+ * An RngStream is not thread-safe and is never shared: each game (and each
+ * worker) owns its streams, so there is no contended CAS as with a shared
+ * java.util.Random.  Bounded draws (nextInt(bound), …) come from the
+ * RandomGenerator defaults and are therefore identical on every JVM.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.random.RandomGenerator;
+
+public final class RngStream implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+    private long gamma;   // always odd
+
+    /**
+     * @param seed Seed; equal seeds give equal streams
+     */
+    public RngStream(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private RngStream(long seed, long gamma) {
+        this.seed  = seed;
+        this.gamma = gamma;
+    }
+
+    // ── Streams ───────────────────────────────────────────────────────────────
+
+    /**
+     * Returns a new stream independent of this one and advances this one.
+     * @return Child stream
+     */
+    public RngStream split() {
+        return new RngStream(mix64(nextSeed()), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (mix64(nextSeed()) >>> 32);
+    }
+
+    // ── State ─────────────────────────────────────────────────────────────────
+
+    /**
+     * @param dst Receives {seed, gamma} (length ≥ 2)
+     */
+    public void getState(long[] dst) {
+        dst[0] = seed;
+        dst[1] = gamma;
+    }
+
+    /**
+     * Restores a state captured by getState().
+     * @param src {seed, gamma}
+     */
+    public void setState(long[] src) {
+        if ((src[1] & 1) == 0) throw new IllegalArgumentException("gamma must be odd");
+        seed  = src[0];
+        gamma = src[1];
+    }
+
+    // ── SplitMix64 ────────────────────────────────────────────────────────────
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Mixes a candidate gamma and forces it odd with enough bit transitions. */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
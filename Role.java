@@ -19,6 +19,9 @@ public class Role {
 
     private Player occupiedBy;     // null when available
 
+    private Set    slotOwner;      // set whose role table holds this role, or null
+    private int    slot = -1;      // position in that table (Set.getRoleAt)
+
     /**
      * @param name   Role name as it appears in the XML
      * @param level  Minimum player rank required to take this role
@@ -41,12 +44,36 @@ public class Role {
     public boolean isOnCard()     { return onCard;     }
     public Player  getOccupiedBy(){ return occupiedBy; }
 
-    /** Assigns (or clears) the player currently working this role. */
-    public void setOccupiedBy(Player p) { this.occupiedBy = p; }
+    /**
+     * Assigns (or clears) the player currently working this role, keeping
+     * the owning set's occupancy mask in step.
+     */
+    public void setOccupiedBy(Player p) {
+        this.occupiedBy = p;
+        if (slotOwner != null) slotOwner.slotOccupancyChanged(slot, p != null);
+    }
 
     /** @return true if no player is currently working this role */
     public boolean isAvailable() { return occupiedBy == null; }
 
+    // ── Set role table ────────────────────────────────────────────────────────
+
+    /** Called by Set when this role takes slot in its role table. */
+    void bindSlot(Set owner, int slot) {
+        this.slotOwner = owner;
+        this.slot      = slot;
+    }
+
+    /** @return this role's slot in owner's role table, or -1 */
+    int slotIn(Set owner) { return slotOwner == owner ? slot : -1; }
+
+    /** Called by Set when its card (and so this role) leaves the table. */
+    void unbindSlot(Set owner) {
+        if (slotOwner != owner) return;   // already dealt to another set
+        slotOwner = null;
+        slot      = -1;
+    }
+
     @Override
     public String toString() {
         String tag = onCard ? "[starring]" : "[extra]";
@@ -3,6 +3,11 @@
  * All rooms (Sets, Trailer, CastingOffice) extend this class.
  * Encapsulates shared neighbor-connectivity logic (Liskov Substitution Principle).
  *
+ * When registered with a Board every room receives a dense int id
+ * (0 … roomCount-1).  Adjacency is stored as a long bitmask indexed by
+ * those ids, so an adjacency test is a single bit operation; the neighbor
+ * list is kept for ordered iteration and display.
+ *
  * CSCI 345 – Deadwood Assignment 2
  */
 import java.util.ArrayList;
@@ -13,6 +18,10 @@ public abstract class Room {
     protected String name;
     protected List<Room> neighbors;
 
+    private Board board;       // owning board (null until registered)
+    private int   id = -1;     // dense board-wide index, assigned by Board
+    private long  adjacency;   // bit i set ⇔ room with id i is a neighbor
+
     /**
      * Constructs a Room with the given name.
      * @param name The display name of the room
@@ -30,11 +39,47 @@ public abstract class Room {
     /** @return an unmodifiable view of adjacent rooms */
     public List<Room> getNeighbors() { return neighbors; }
 
+    /** @return the board this room is registered with, or null */
+    Board getBoard() { return board; }
+
+    /** @return this room's dense board index, or -1 if not registered */
+    public int getId() { return id; }
+
+    /** @return bitmask of neighbor ids (bit i ⇔ room i is adjacent) */
+    public long getAdjacencyMask() { return adjacency; }
+
+    /**
+     * Called by Board.addRoom() to register this room and assign its id.
+     * @param board The owning board
+     * @param id    Dense index of this room on that board
+     */
+    void register(Board board, int id) {
+        this.board = board;
+        this.id    = id;
+    }
+
     /**
      * Registers an adjacent room (bidirectional setup done by Board).
+     * Both rooms must already be registered with the Board.
      * @param r The neighboring room
      */
-    public void addNeighbor(Room r) { neighbors.add(r); }
+    public void addNeighbor(Room r) {
+        if (r.id < 0) {
+            throw new IllegalStateException("Neighbor " + r.getName()
+                + " must be added to the Board before it is wired");
+        }
+        neighbors.add(r);
+        adjacency |= 1L << r.id;
+    }
+
+    /**
+     * Checks whether the given room is directly adjacent (one bit test).
+     * @param r Room to check
+     * @return true if r is a neighbor
+     */
+    public boolean isAdjacentTo(Room r) {
+        return r.id >= 0 && (adjacency & (1L << r.id)) != 0;
+    }
 
     /**
      * Checks whether a room with the given name is directly adjacent.
@@ -43,10 +88,7 @@ public abstract class Room {
      * @return true if that room is a neighbor
      */
     public boolean isAdjacentTo(String roomName) {
-        for (Room r : neighbors) {
-            if (r.getName().equalsIgnoreCase(roomName)) return true;
-        }
-        return false;
+        return getNeighborByName(roomName) != null;
     }
 
     /**
@@ -55,6 +97,10 @@ public abstract class Room {
      * @return The Room object, or null if not adjacent
      */
     public Room getNeighborByName(String roomName) {
+        if (board != null) {
+            Room r = board.getRoom(roomName);
+            return r != null && isAdjacentTo(r) ? r : null;
+        }
         for (Room r : neighbors) {
             if (r.getName().equalsIgnoreCase(roomName)) return r;
         }
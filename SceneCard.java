@@ -12,6 +12,8 @@
  */
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class SceneCard {
 
@@ -20,6 +22,10 @@ public class SceneCard {
     private final int    sceneNumber;
     private final String description;
     private final List<Role> roles;
+    private final Map<String, Integer> roleIndex =   // name → bitmask of role indices
+        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private int[]            byLevel = new int[0];   // role indices, highest level first
+    private int              id = -1;  // index in the game's deck, set by GameManager
 
     /**
      * @param name        Film title
@@ -38,7 +44,20 @@ public class SceneCard {
     // ── Mutators ─────────────────────────────────────────────────────────────
 
     /** Adds an on-card (starring) role to this scene. */
-    public void addRole(Role r) { roles.add(r); }
+    public void addRole(Role r) {
+        int i = roles.size();
+        roles.add(r);
+        roleIndex.merge(r.getName(), 1 << i, (a, b) -> a | b);
+
+        // Insert after every role of the same or higher level (stable order)
+        int[] order = new int[i + 1];
+        int   at    = 0;
+        while (at < i && roles.get(byLevel[at]).getLevel() >= r.getLevel()) at++;
+        System.arraycopy(byLevel, 0, order, 0, at);
+        order[at] = i;
+        System.arraycopy(byLevel, at, order, at + 1, i - at);
+        byLevel = order;
+    }
 
     /**
      * Clears all player assignments for every on-card role.
@@ -56,6 +75,26 @@ public class SceneCard {
     public String     getDescription(){ return description; }
     public List<Role> getRoles()      { return roles;       }
 
+    /**
+     * @param roleName Role name (case-insensitive)
+     * @return bitmask of the indices in getRoles() with that name, or 0
+     */
+    public int roleMask(String roleName) {
+        Integer mask = roleIndex.get(roleName);
+        return mask == null ? 0 : mask;
+    }
+
+    /**
+     * @param rank Position in level order (0 = highest-level role)
+     * @return index in getRoles() of that role; equal levels keep card order
+     */
+    public int roleByLevel(int rank) { return byLevel[rank]; }
+
+    /** @return this card's id (its index in the unshuffled deck), or -1 */
+    public int        getId()         { return id;          }
+    /** Assigns the card id (done once when a game's deck is created). */
+    public void       setId(int id)   { this.id = id;       }
+
     @Override
     public String toString() {
         return name + " (scene " + sceneNumber + ", budget " + budget + ")";
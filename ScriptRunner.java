@@ -0,0 +1,153 @@
+/**
+ * Batch runner for scripted console sessions (Deadwood --script).
+ *
+ * Each script is a text file of console commands, one per line; blank lines
+ * and lines starting with '#' are skipped.  A script is played against its
+ * own GameManager exactly as if typed at the prompt, and its transcript
+ * ("> command" followed by the game's output) is written through a
+ * buffered stream that is flushed once at the end rather than per line.
+ * Scripts are read with a large BufferedReader, and Deadwood.processInput
+ * tokenizes without regular expressions.
+ *
+ * Several scripts run in parallel on a fork-join pool, one task per script;
+ * every script renders into its own buffer.  Transcripts are written out in
+ * the order the scripts were given – each as soon as it and all earlier
+ * ones are done, after which its buffer is dropped – so the output does not
+ * depend on scheduling and only unwritten transcripts are held in memory.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ScriptRunner {
+
+    private static final int READ_BUFFER  = 64 * 1024;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private final int     numPlayers;
+    private final Catalog catalog;
+    private final Long    seed;      // null = fresh seed per script
+
+    private final AtomicLong commands = new AtomicLong();
+
+    /**
+     * @param numPlayers Players in every scripted game
+     * @param catalog    Shared board/card catalog
+     * @param seed       Seed for every script's game, or null for fresh seeds
+     */
+    public ScriptRunner(int numPlayers, Catalog catalog, Long seed) {
+        this.numPlayers = numPlayers;
+        this.catalog    = catalog;
+        this.seed       = seed;
+    }
+
+    /** @return commands executed so far, across all scripts */
+    public long commandCount() { return commands.get(); }
+
+    // ── Running ───────────────────────────────────────────────────────────────
+
+    /**
+     * Runs every script and writes their transcripts to out, in order.  A
+     * script that cannot be read gets an error line in its place.
+     *
+     * @param scripts Script files
+     * @param threads Parallelism when there is more than one script
+     * @param out     Destination; written through one buffer, flushed after
+     *                each transcript
+     * @return number of scripts that could not be read
+     */
+    public int runAll(List<Path> scripts, int threads, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, WRITE_BUFFER);
+        PrintStream          print    = new PrintStream(buffered, false, StandardCharsets.UTF_8);
+        int                  failed   = 0;
+
+        if (scripts.size() == 1) {
+            failed += runOrReport(scripts.get(0), print) ? 0 : 1;
+        } else {
+            List<ForkJoinTask<ByteArrayOutputStream>> tasks = new ArrayList<>(scripts.size());
+            boolean[]    ok   = new boolean[scripts.size()];
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (int i = 0; i < scripts.size(); i++) {
+                    int index = i;
+                    tasks.add(pool.submit(() -> {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+                        PrintStream ps = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+                        ps.println("== " + scripts.get(index) + " ==");
+                        ok[index] = runOrReport(scripts.get(index), ps);
+                        ps.flush();
+                        return bytes;
+                    }));
+                }
+                // Write in script order as each prefix completes; get() publishes ok[i]
+                for (int i = 0; i < tasks.size(); i++) {
+                    tasks.get(i).get().writeTo(print);
+                    tasks.set(i, null);
+                    print.flush();
+                    if (!ok[i]) failed++;
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IOException("script run failed", e);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        print.flush();
+        return failed;
+    }
+
+    private boolean runOrReport(Path script, PrintStream out) {
+        try {
+            run(script, out);
+            return true;
+        } catch (IOException e) {
+            out.println("Cannot read script " + script + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Plays one script against a new game.  Stops at the end of the script
+     * or when the game ends.
+     * @param script Script file
+     * @param out    Transcript destination (not flushed)
+     */
+    public void run(Path script, PrintStream out) throws IOException {
+        long count = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(script), StandardCharsets.UTF_8), READ_BUFFER)) {
+            GameManager gm = new GameManager();
+            gm.setEventSink(new ConsoleRenderer(out));
+            gm.setMetrics(EngineMetrics.GLOBAL);
+            if (seed != null) gm.setup(numPlayers, catalog, seed);
+            else              gm.setup(numPlayers, catalog);
+
+            String line;
+            while (!gm.isGameOver() && (line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') continue;
+                out.print("> ");
+                out.println(line);
+                Deadwood.processInput(line, gm, out);
+                count++;
+            }
+        } finally {
+            commands.addAndGet(count);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Loopback load test for GameServer.
+ *
+ * Opens <clients> connections at once (one client thread each, virtual
+ * when available), has every client start its own 2-player table, waits until
+ * all tables are live, then lets every client play <rounds> rounds of
+ * commands (who / where / board / end) before quitting.  Reports the peak
+ * number of concurrent sessions and tables, command throughput and
+ * round-trip latency percentiles.
+ *
+ * Usage:
+ *   java ServerLoadTest [clients] [rounds] [nio | host port]
+ * Without host/port an in-process server on a free loopback port is used:
+ * the thread-per-connection GameServer, or NioGameServer with "nio".
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerLoadTest {
+
+    private static final String[] ROUND = { "who", "where", "board", "end" };
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length >= 1 ? Integer.parseInt(args[0]) : 1000;
+        int rounds  = args.length >= 2 ? Integer.parseInt(args[1]) : 25;
+
+        GameServer    server = null;
+        NioGameServer nio    = null;
+        String        host   = "127.0.0.1";
+        int           port;
+        Thread        loop;
+        if (args.length >= 4) {
+            host = args[2];
+            port = Integer.parseInt(args[3]);
+            loop = null;
+        } else if (args.length >= 3 && args[2].equals("nio")) {
+            nio  = new NioGameServer(0, Catalog.load("board.xml", "cards.xml"));
+            port = nio.getPort();
+            NioGameServer s = nio;
+            loop = new Thread(() -> {
+                try { s.serve(); } catch (IOException e) { /* closed */ }
+            }, "deadwood-nio");
+        } else {
+            server = new GameServer(0, Catalog.load("board.xml", "cards.xml"));
+            port   = server.getPort();
+            GameServer s = server;
+            loop = new Thread(() -> {
+                try { s.serve(); } catch (IOException e) { /* closed */ }
+            }, "deadwood-accept");
+        }
+        if (loop != null) {
+            loop.setDaemon(true);
+            loop.start();
+        }
+
+        int            perClient = rounds * ROUND.length;
+        long[]         latencies = new long[clients * perClient];
+        AtomicInteger  failures  = new AtomicInteger();
+        CountDownLatch seated    = new CountDownLatch(clients);
+        CountDownLatch go        = new CountDownLatch(1);
+        CountDownLatch done      = new CountDownLatch(clients);
+        ExecutorService pool     = GameServer.newThreadPerTaskExecutor("load-client");
+
+        String h = host;
+        int    p = port;
+        long   t0 = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int base = c * perClient;
+            pool.execute(() -> {
+                boolean counted = false;
+                try (Socket socket = new Socket(h, p)) {
+                    socket.setTcpNoDelay(true);
+                    Conversation conv = new Conversation(socket);
+                    conv.awaitPrompt();                       // greeting
+                    conv.call("new 2");
+                    seated.countDown();
+                    counted = true;
+                    go.await();
+
+                    int i = base;
+                    for (int r = 0; r < rounds; r++) {
+                        for (String cmd : ROUND) {
+                            long start = System.nanoTime();
+                            conv.call(cmd);
+                            latencies[i++] = System.nanoTime() - start;
+                        }
+                    }
+                    conv.call("quit");
+                    conv.send("bye");
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    if (!counted) seated.countDown();
+                    done.countDown();
+                }
+            });
+        }
+
+        seated.await();
+        long setupNanos = System.nanoTime() - t0;
+        int  peakSessions = server != null ? server.sessionCount()
+                          : nio    != null ? nio.sessionCount()    : clients;
+        int  peakTables   = server != null ? server.tableCount()
+                          : nio    != null ? nio.tableCount()      : clients;
+
+        long t1 = System.nanoTime();
+        go.countDown();
+        done.await();
+        long playNanos = System.nanoTime() - t1;
+
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        if (server != null) server.close();
+        if (nio    != null) nio.close();
+
+        // ── Report ────────────────────────────────────────────────────────────
+        long[] sorted = Arrays.stream(latencies).filter(v -> v > 0).sorted().toArray();
+        System.out.printf("Server        : %s%n", nio != null ? "NIO selector (1 thread)"
+            : GameServer.VIRTUAL_THREADS ? "virtual thread per connection"
+            : "platform thread per connection (no virtual threads in this JVM)");
+        System.out.printf("Clients       : %d (%d failed)%n", clients, failures.get());
+        System.out.printf("Concurrent    : %d sessions, %d live games%n", peakSessions, peakTables);
+        System.out.printf("Connect+setup : %.2f s%n", setupNanos / 1e9);
+        System.out.printf("Commands      : %d in %.2f s = %.0f commands/sec%n",
+            sorted.length, playNanos / 1e9, sorted.length / (playNanos / 1e9));
+        if (sorted.length > 0) {
+            System.out.printf("Latency       : p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        return sorted[Math.min(sorted.length - 1, (int) (q * sorted.length))];
+    }
+
+    /** Request/response over one connection: a response ends at the prompt. */
+    private static final class Conversation {
+        private final InputStream  in;
+        private final OutputStream out;
+        private final byte[]       buf = new byte[8192];
+
+        Conversation(Socket socket) throws IOException {
+            in  = socket.getInputStream();
+            out = socket.getOutputStream();
+        }
+
+        void send(String line) throws IOException {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        void call(String line) throws IOException {
+            send(line);
+            awaitPrompt();
+        }
+
+        /** Reads until the stream's latest bytes are the prompt "> ". */
+        void awaitPrompt() throws IOException {
+            byte prev = 0, last = 0;
+            while (!(prev == '>' && last == ' ')) {
+                int n = in.read(buf);
+                if (n < 0) throw new IOException("server closed the connection");
+                if (n == 1) {
+                    prev = last;
+                    last = buf[0];
+                } else if (n > 1) {
+                    prev = buf[n - 2];
+                    last = buf[n - 1];
+                }
+            }
+        }
+    }
+}
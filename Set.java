@@ -9,6 +9,15 @@
  * The scene is "wrapped" when all shot counters have been removed, at
  * which point the budget-payout is triggered and the card is discarded.
  *
+ * Take state is a bitmask of active takes plus a remaining count, and each
+ * set tells its Board when it starts or stops shooting, so "how many takes
+ * are left" and "how many sets are still active" are single reads.
+ *
+ * Roles are kept in a fixed slot table – the extras first, then the active
+ * card's on-card roles – with a case-insensitive name index and a bitmask
+ * of occupied slots that Role.setOccupiedBy keeps current, so finding a
+ * role, checking availability and listing who works here never allocate.
+ *
  * Composition relationship: a Set owns its Takes and extra Roles.
  * Association: a Set holds a reference to a SceneCard (owned by the deck).
  *
@@ -16,6 +25,8 @@
  */
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class Set extends Room {
 
@@ -23,6 +34,17 @@ public class Set extends Room {
     private final List<Role>   extras;  // off-card (extra) roles (composed)
     private SceneCard          activeCard;
     private boolean            wrapped;
+    private boolean            active;        // card placed and not wrapped
+    private int                setIndex = -1; // position in Board.getSets()
+
+    // ── Take state ────────────────────────────────────────────────────────────
+    private int                takeMask;      // bit i ⇔ takes.get(i) active
+    private int                takesLeft;     // Integer.bitCount(takeMask)
+
+    // ── Role table ────────────────────────────────────────────────────────────
+    private final Map<String, Integer> extraIndex =  // name → bitmask of extra slots
+        new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private int                occupied;      // bit per slot with a player on it
 
     /**
      * @param name Display name of this filming location
@@ -43,9 +65,10 @@ public class Set extends Room {
      * @param card The SceneCard to place here
      */
     public void setActiveCard(SceneCard card) {
-        this.activeCard = card;
+        attachCard(card);
         this.wrapped    = false;
-        for (Take t : takes) t.reset();
+        resetTakes();
+        updateActive();
     }
 
     /** @return the current SceneCard, or null if no card is placed */
@@ -54,46 +77,73 @@ public class Set extends Room {
     // ── Shot-counter (take) management ────────────────────────────────────────
 
     /** Adds a take to this set (done during board setup). */
-    public void addTake(Take t) { takes.add(t); }
+    public void addTake(Take t) {
+        if (t.isActive()) {
+            takeMask |= 1 << takes.size();
+            takesLeft++;
+        }
+        takes.add(t);
+    }
 
     /** @return all take objects for this set */
     public List<Take> getTakes() { return takes; }
 
+    /** @return bitmask of active takes (bit i ⇔ getTakes().get(i) active) */
+    public int getTakeMask() { return takeMask; }
+
     /** @return true if at least one shot counter remains on the board */
-    public boolean hasShotCounters() {
-        for (Take t : takes) if (t.isActive()) return true;
-        return false;
-    }
+    public boolean hasShotCounters() { return takesLeft > 0; }
 
     /** @return how many shot counters are still active */
-    public int countActiveTakes() {
-        int count = 0;
-        for (Take t : takes) if (t.isActive()) count++;
-        return count;
-    }
+    public int countActiveTakes() { return takesLeft; }
 
     /**
-     * Removes exactly one active shot counter (highest-numbered first).
+     * Removes exactly one active shot counter (the first one in take order).
      * @return true if the scene wrapped (no more counters), false otherwise
      */
     public boolean removeOneTake() {
-        for (Take t : takes) {
-            if (t.isActive()) {
-                t.setActive(false);
-                break;
-            }
+        if (takesLeft == 0) {
+            wrapped = true;
+            updateActive();
+            return true;
         }
-        if (!hasShotCounters()) {
+        int i = Integer.numberOfTrailingZeros(takeMask);
+        takes.get(i).setActive(false);
+        takeMask &= takeMask - 1;
+        if (--takesLeft == 0) {
             wrapped = true;
+            updateActive();
             return true; // scene wraps
         }
         return false;
     }
 
+    /** Puts every shot counter back on the board. */
+    private void resetTakes() {
+        for (Take t : takes) t.reset();
+        takeMask  = (int) ((1L << takes.size()) - 1);
+        takesLeft = takes.size();
+    }
+
+    /** Recomputes active and reports a change to the owning Board. */
+    private void updateActive() {
+        boolean now = activeCard != null && !wrapped;
+        if (now == active) return;
+        active = now;
+        Board board = getBoard();
+        if (board != null) board.setActivityChanged(setIndex, now);
+    }
+
     // ── Role management ───────────────────────────────────────────────────────
 
     /** Adds an off-card extra role (done during board setup). */
-    public void addExtra(Role r) { extras.add(r); }
+    public void addExtra(Role r) {
+        int slot = extras.size();
+        extras.add(r);
+        r.bindSlot(this, slot);
+        extraIndex.merge(r.getName(), 1 << slot, (a, b) -> a | b);
+        if (!r.isAvailable()) occupied |= 1 << slot;
+    }
 
     /** @return all off-card (extra) roles at this set */
     public List<Role> getExtras() { return extras; }
@@ -101,11 +151,12 @@ public class Set extends Room {
     /**
      * @return true when this set has no active scene or the scene is wrapped
      */
-    public boolean isWrapped() { return wrapped || activeCard == null; }
+    public boolean isWrapped() { return !active; }
 
     /**
      * Returns all roles (extras + on-card) available at this set.
      * On-card roles are only included when a non-wrapped scene is active.
+     * Allocates a new list; hot paths use roleCount() / getRoleAt().
      */
     public List<Role> getAllRoles() {
         List<Role> all = new ArrayList<>(extras);
@@ -115,18 +166,119 @@ public class Set extends Room {
         return all;
     }
 
+    /**
+     * @return number of roles getAllRoles() would list: slots 0 … n-1
+     */
+    public int roleCount() {
+        return activeCard != null && !wrapped
+               ? extras.size() + activeCard.getRoles().size() : extras.size();
+    }
+
+    /**
+     * Finds the first free role with the given name, in slot order.
+     * On-card roles only count while a non-wrapped scene is active.
+     * @param roleName Role name (case-insensitive)
+     * @return The role, or null if none by that name is free
+     */
+    public Role findAvailableRole(String roleName) {
+        Integer extra = extraIndex.get(roleName);
+        int     slots = extra == null ? 0 : extra;
+        if (activeCard != null && !wrapped) {
+            slots |= activeCard.roleMask(roleName) << extras.size();
+        }
+        slots &= ~occupied;
+        return slots == 0 ? null : getRoleAt(Integer.numberOfTrailingZeros(slots));
+    }
+
+    /** @return bitmask of slots (see getRoleAt) that have a player on them */
+    public int getOccupiedMask() { return occupied; }
+
+    /** @return the slot of the active card's first on-card role */
+    public int firstCardSlot() { return extras.size(); }
+
+    /**
+     * Returns the role in the given slot.  Slots number the extras first
+     * (0 … extras-1) followed by the active card's on-card roles.
+     * @param slot Role slot
+     * @return The role, or null if the slot is out of range
+     */
+    public Role getRoleAt(int slot) {
+        if (slot < 0) return null;
+        if (slot < extras.size()) return extras.get(slot);
+        int onCard = slot - extras.size();
+        if (activeCard == null || onCard >= activeCard.getRoles().size()) return null;
+        return activeCard.getRoles().get(onCard);
+    }
+
+    /**
+     * @return the slot of the given role at this set (see getRoleAt), or -1
+     */
+    public int slotOf(Role r) { return r.slotIn(this); }
+
     /**
      * Collects all players currently working any role at this set.
      * @return list of active players at this set
      */
     public List<Player> getActivePlayers() {
-        List<Player> players = new ArrayList<>();
-        for (Role r : getAllRoles()) {
-            if (r.getOccupiedBy() != null) players.add(r.getOccupiedBy());
+        int          slots   = occupied & (int) ((1L << roleCount()) - 1);
+        List<Player> players = new ArrayList<>(Integer.bitCount(slots));
+        for (; slots != 0; slots &= slots - 1) {
+            players.add(getRoleAt(Integer.numberOfTrailingZeros(slots)).getOccupiedBy());
         }
         return players;
     }
 
+    /** Called by Role.setOccupiedBy for a role bound to this table. */
+    void slotOccupancyChanged(int slot, boolean taken) {
+        if (taken) occupied |=   1 << slot;
+        else       occupied &= ~(1 << slot);
+    }
+
+    /**
+     * Puts card's roles into the on-card slots (unbinding the previous
+     * card's) and recomputes their occupancy bits.
+     */
+    private void attachCard(SceneCard card) {
+        int base = extras.size();
+        if (activeCard != null) {
+            for (Role r : activeCard.getRoles()) r.unbindSlot(this);
+        }
+        occupied  &= (1 << base) - 1;
+        activeCard = card;
+        if (card == null) return;
+        List<Role> roles = card.getRoles();
+        for (int i = 0; i < roles.size(); i++) {
+            roles.get(i).bindSlot(this, base + i);
+            if (!roles.get(i).isAvailable()) occupied |= 1 << (base + i);
+        }
+    }
+
+    // ── Board index / state restore ───────────────────────────────────────────
+
+    /** @return this set's position in Board.getSets(), or -1 */
+    public int getSetIndex() { return setIndex; }
+
+    /** Called by Board.addRoom() to record this set's position. */
+    void assignSetIndex(int index) { this.setIndex = index; }
+
+    /**
+     * Restores a saved position: places the card (or none) and sets exactly
+     * the takes in mask active.  The scene counts as wrapped when a card is
+     * present but no take remains.  Role occupancy is left to the caller.
+     * @param card The scene card, or null
+     * @param mask Active takes, as returned by getTakeMask()
+     */
+    public void restoreState(SceneCard card, int mask) {
+        attachCard(card);
+        for (int i = 0; i < takes.size(); i++) {
+            takes.get(i).setActive((mask & (1 << i)) != 0);
+        }
+        this.takeMask  = mask & (int) ((1L << takes.size()) - 1);
+        this.takesLeft = Integer.bitCount(takeMask);
+        this.wrapped   = card != null && takeMask == 0;
+        updateActive();
+    }
+
     // ── Day-reset ─────────────────────────────────────────────────────────────
 
     /**
@@ -135,9 +287,10 @@ public class Set extends Room {
      */
     public void resetForNewDay() {
         if (activeCard != null) activeCard.resetRoles();
-        activeCard = null;
+        attachCard(null);
         wrapped    = false;
-        for (Take t : takes)  t.reset();
+        resetTakes();
+        updateActive();
         for (Role r : extras) r.setOccupiedBy(null);
     }
 
@@ -145,7 +298,7 @@ public class Set extends Room {
 
     @Override
     public String getStatusDescription() {
-        if (wrapped || activeCard == null) {
+        if (!active) {
             return name + " (wrapped)";
         }
         return name + " shooting " + activeCard.getName()
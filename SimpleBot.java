@@ -0,0 +1,152 @@
+/**
+ * A simple rule-based Bot used by the headless Simulator.
+ *
+ * Each turn it:
+ *  - acts (or rehearses while the odds are poor) when it already has a role;
+ *  - otherwise upgrades if standing in the Casting Office with enough money,
+ *    takes the best role it qualifies for on its current set, or moves –
+ *    one step toward the Casting Office when it can afford the next rank,
+ *    else to a neighbouring room (preferring sets that still have a scene
+ *    to shoot) – and tries to take a role or upgrade there;
+ *  - then ends its turn.
+ *
+ * It may also be handed a partly played turn (e.g. by MctsAgent rollouts);
+ * it then only does what is still allowed.
+ *
+ * With planUpgrades set it instead heads for the Casting Office and buys
+ * only what UpgradePlanner.best() recommends for the acts left in the game
+ * (the "planner" entrant of Tournament).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+import java.util.Random;
+
+public class SimpleBot implements Bot {
+
+    private final Random  rng;
+    private final boolean planUpgrades;
+
+    /**
+     * @param seed Seed for the bot's own move choices
+     */
+    public SimpleBot(long seed) {
+        this(seed, false);
+    }
+
+    /**
+     * @param seed         Seed for the bot's own move choices
+     * @param planUpgrades true = upgrade as UpgradePlanner.best() advises,
+     *                     false = buy the highest rank affordable
+     */
+    public SimpleBot(long seed, boolean planUpgrades) {
+        this.rng          = new Random(seed);
+        this.planUpgrades = planUpgrades;
+    }
+
+    // ── Bot interface ─────────────────────────────────────────────────────────
+
+    @Override
+    public void playTurn(GameManager gm) {
+        Player p   = gm.activePlayer();
+        int    day = gm.getCurrentDay();
+
+        if (p.isWorking()) {
+            Set set    = (Set) p.getLocation();
+            int budget = set.getActiveCard().getBudget();
+            int chips  = p.getRehearsalChips();
+            // Rehearse while a roll would succeed less than half the time
+            if (gm.getCatalog().getOdds().actSuccess(budget, chips) < 0.5
+                    && chips < budget - 1) {
+                gm.cmdRehearse();
+            } else {
+                gm.cmdAct();
+            }
+        } else {
+            if (p.getLocation() instanceof CastingOffice) tryUpgrade(gm, p);
+            if (!tryWork(gm, p)) {
+                Room dest = canAffordUpgrade(gm, p)
+                          ? gm.getBoard().nextStepToward(p.getLocation(),
+                                                         gm.getBoard().getOffice())
+                          : pickDestination(p);
+                if (dest != null && !p.hasMoved()) {
+                    gm.cmdMove(dest.getName());
+                    if (dest instanceof CastingOffice) tryUpgrade(gm, p);
+                    else tryWork(gm, p);
+                }
+            }
+        }
+
+        // A wrap may have ended the day (or the game) – the turn is then over
+        if (!gm.isGameOver() && gm.getCurrentDay() == day) {
+            gm.cmdEnd();
+        }
+    }
+
+    // ── Private helpers ───────────────────────────────────────────────────────
+
+    /** Takes the highest-level role the player qualifies for, if any. */
+    private boolean tryWork(GameManager gm, Player p) {
+        if (!(p.getLocation() instanceof Set)) return false;
+        Set set = (Set) p.getLocation();
+        if (set.isWrapped()) return false;
+
+        Role best = null;
+        for (int slot = 0, n = set.roleCount(); slot < n; slot++) {
+            Role r = set.getRoleAt(slot);
+            if (!r.isAvailable() || r.getLevel() > p.getRank()) continue;
+            if (best == null || r.getLevel() > best.getLevel()) best = r;
+        }
+        if (best == null) return false;
+        gm.cmdWork(best.getName());
+        return p.isWorking();
+    }
+
+    /** Buys the highest rank the player can currently afford (or the planned one). */
+    private void tryUpgrade(GameManager gm, Player p) {
+        if (planUpgrades) {
+            UpgradePlanner.Plan plan = gm.getUpgradePlanner().best(p, gm.expectedActsLeft());
+            if (plan.isUpgrade()) gm.cmdUpgrade(plan.getLevel(), plan.getCurrencyName());
+            return;
+        }
+        CastingOffice office = (CastingOffice) p.getLocation();
+        Upgrade best = null;
+        for (Upgrade u : office.getUpgrades()) {
+            if (u.getLevel() <= p.getRank()) continue;
+            int funds = u.getCurrency().equals("dollar") ? p.getDollars()
+                                                         : p.getCredits();
+            if (funds < u.getAmount()) continue;
+            if (best == null || u.getLevel() > best.getLevel()) best = u;
+        }
+        if (best != null) gm.cmdUpgrade(best.getLevel(), best.getCurrency());
+    }
+
+    /** @return true if the player could pay for the next rank (or a planned one) right now */
+    private boolean canAffordUpgrade(GameManager gm, Player p) {
+        if (p.getLocation() instanceof CastingOffice) return false;
+        if (planUpgrades) {
+            return gm.getUpgradePlanner().best(p, gm.expectedActsLeft()).isUpgrade();
+        }
+        CastingOffice office = gm.getBoard().getOffice();
+        Upgrade byDollar = office.findUpgrade(p.getRank() + 1, "dollar");
+        Upgrade byCredit = office.findUpgrade(p.getRank() + 1, "credit");
+        return (byDollar != null && p.getDollars() >= byDollar.getAmount())
+            || (byCredit != null && p.getCredits() >= byCredit.getAmount());
+    }
+
+    /** Picks a random neighbour, preferring sets that are still shooting. */
+    private Room pickDestination(Player p) {
+        List<Room> nbs = p.getLocation().getNeighbors();
+        if (nbs.isEmpty()) return null;
+
+        int open = 0;
+        for (Room r : nbs) if (r instanceof Set && !((Set) r).isWrapped()) open++;
+        if (open == 0) return nbs.get(rng.nextInt(nbs.size()));
+
+        int pick = rng.nextInt(open);
+        for (Room r : nbs) {
+            if (r instanceof Set && !((Set) r).isWrapped() && pick-- == 0) return r;
+        }
+        return null;
+    }
+}
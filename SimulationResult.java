@@ -0,0 +1,236 @@
+/**
+ * Aggregated outcome of a batch of simulated games.
+ *
+ * Each Simulator worker fills its own SimulationResult and the partial
+ * results are combined with merge(), so no state is shared between threads.
+ *
+ * Everything is a counter or a QuantileSketch sized by the catalog and the
+ * maximum table size, so a result takes the same memory after a hundred
+ * games or a hundred million:
+ *   - wins by seat colour, per player count (results of different player
+ *     counts merge into one table)
+ *   - final-score, winning-score and turn-count quantiles
+ *   - the dollar / credit / rank split of the final scores
+ *   - how often each set is the first of its day to wrap
+ *   - how often each scene card wraps
+ *
+ * Wraps are observed through sink(), the event sink the Simulator gives
+ * every game in place of NullSink.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class SimulationResult {
+
+    private static final int SEATS = GameManager.MAX_PLAYERS;
+
+    private final Catalog catalog;
+
+    private long games;
+    private long unfinished;   // games cut off by the turn limit
+
+    private final long[] finishedByCount = new long[SEATS + 1];
+    private final long[] winsBySeat      = new long[(SEATS + 1) * SEATS]; // [count][seat]
+
+    private final QuantileSketch turns         = new QuantileSketch();
+    private final QuantileSketch scores        = new QuantileSketch();
+    private final QuantileSketch winningScores = new QuantileSketch();
+
+    private long dollars;      // score components summed over every player
+    private long credits;
+    private long ranks;
+
+    private final long[] setWraps;
+    private final long[] firstWraps;   // per set: first of its day to wrap
+    private final long[] cardWraps;    // per card id
+
+    private final GameEventSink sink = new WrapRecorder();
+
+    /**
+     * @param catalog Catalog every recorded game was built from (sizes the
+     *                per-set and per-card tables and names them)
+     */
+    public SimulationResult(Catalog catalog) {
+        this.catalog    = catalog;
+        this.setWraps   = new long[catalog.setCount()];
+        this.firstWraps = new long[catalog.setCount()];
+        this.cardWraps  = new long[catalog.cardCount()];
+    }
+
+    // ── Recording ─────────────────────────────────────────────────────────────
+
+    /**
+     * @return an event sink that records scene wraps into this result; give
+     *         it to every game recorded here
+     */
+    public GameEventSink sink() { return sink; }
+
+    /**
+     * Records one finished (or abandoned) game.
+     * @param gm       The game after play stopped
+     * @param turns    Number of turns that were played
+     * @param finished false if the game hit the turn limit
+     */
+    public void record(GameManager gm, int turns, boolean finished) {
+        games++;
+        this.turns.add(turns);
+        if (!finished) {
+            unfinished++;
+            return;
+        }
+
+        // Winner is the first player with the strictly highest score,
+        // matching GameManager.endGame()
+        List<Player> players = gm.getPlayers();
+        int n = players.size();
+        int winner = -1, high = -1;
+        for (int i = 0; i < n; i++) {
+            Player p     = players.get(i);
+            int    score = p.getScore();
+            scores.add(score);
+            dollars += p.getDollars();
+            credits += p.getCredits();
+            ranks   += p.getRank();
+            if (score > high) {
+                high   = score;
+                winner = i;
+            }
+        }
+        finishedByCount[n]++;
+        winsBySeat[n * SEATS + winner]++;
+        winningScores.add(high);
+    }
+
+    /**
+     * Adds another partial result into this one.
+     * @param other Result produced by a different worker (same catalog)
+     * @return this result
+     */
+    public SimulationResult merge(SimulationResult other) {
+        games      += other.games;
+        unfinished += other.unfinished;
+        dollars    += other.dollars;
+        credits    += other.credits;
+        ranks      += other.ranks;
+        turns.merge(other.turns);
+        scores.merge(other.scores);
+        winningScores.merge(other.winningScores);
+        add(finishedByCount, other.finishedByCount);
+        add(winsBySeat,      other.winsBySeat);
+        add(setWraps,        other.setWraps);
+        add(firstWraps,      other.firstWraps);
+        add(cardWraps,       other.cardWraps);
+        return this;
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) into[i] += from[i];
+    }
+
+    /** Counts wraps; the first wrap after each dayStarted is the day's first. */
+    private final class WrapRecorder implements GameEventSink {
+        private boolean firstOfDay;
+
+        @Override public void dayStarted(int day) { firstOfDay = true; }
+
+        @Override
+        public void sceneWrapped(Set set, SceneCard card) {
+            int s = set.getSetIndex();
+            setWraps[s]++;
+            cardWraps[card.getId()]++;
+            if (firstOfDay) {
+                firstWraps[s]++;
+                firstOfDay = false;
+            }
+        }
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public long getGames()            { return games;      }
+    public long getUnfinished()       { return unfinished; }
+
+    /** @return games won from seat (0-based) at tables of numPlayers */
+    public long getWins(int numPlayers, int seat) { return winsBySeat[numPlayers * SEATS + seat]; }
+
+    /** @return finished games with numPlayers players */
+    public long getFinished(int numPlayers) { return finishedByCount[numPlayers]; }
+
+    public QuantileSketch getTurns()         { return turns;         }
+    public QuantileSketch getScores()        { return scores;        }
+    public QuantileSketch getWinningScores() { return winningScores; }
+
+    public long getSetWraps(int setIndex)   { return setWraps[setIndex];   }
+    public long getFirstWraps(int setIndex) { return firstWraps[setIndex]; }
+    public long getCardWraps(int cardId)    { return cardWraps[cardId];    }
+
+    /** @return a multi-line summary of the batch */
+    @Override
+    public String toString() {
+        long finished = games - unfinished;
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games played : ").append(games);
+        if (unfinished > 0) sb.append(" (").append(unfinished).append(" hit turn limit)");
+        sb.append("\nAvg turns    : ").append(String.format("%.1f", turns.getMean()))
+          .append(quantiles(turns));
+        sb.append("\nAvg score    : ").append(String.format("%.2f", scores.getMean()))
+          .append(quantiles(scores));
+        sb.append("\nAvg winner   : ").append(String.format("%.2f", winningScores.getMean()))
+          .append(quantiles(winningScores));
+
+        long points = dollars + credits + ranks;
+        sb.append(String.format("%nScore split  : %.1f%% dollars, %.1f%% credits, %.1f%% rank",
+            pct(dollars, points), pct(credits, points), pct(ranks, points)));
+
+        for (int n = 2; n <= SEATS; n++) {
+            if (finishedByCount[n] == 0) continue;
+            sb.append("\nWins by seat :");
+            if (finishedByCount[n] != finished) sb.append(" (").append(n).append(" players)");
+            for (int i = 0; i < n; i++) {
+                sb.append(String.format("%n  seat %d %-9s: %6.2f%%", i + 1,
+                    "(" + GameManager.seatColor(i) + ")",
+                    pct(winsBySeat[n * SEATS + i], finishedByCount[n])));
+            }
+        }
+
+        long days = 0;
+        for (long w : firstWraps) days += w;
+        sb.append("\nFirst to wrap:");
+        for (int s : ranked(firstWraps)) {
+            sb.append(String.format("%n  %-16s %6.2f%% of days, %.2f wraps/game",
+                catalog.setName(s), pct(firstWraps[s], days),
+                games == 0 ? 0.0 : (double) setWraps[s] / games));
+        }
+
+        int[] cards = ranked(cardWraps);
+        int   shown = Math.min(5, cards.length);
+        sb.append("\nMost wrapped :");
+        for (int i = 0; i < shown; i++) sb.append(cardLine(cards[i]));
+        sb.append("\nLeast wrapped:");
+        for (int i = cards.length - shown; i < cards.length; i++) sb.append(cardLine(cards[i]));
+        return sb.toString();
+    }
+
+    private String cardLine(int card) {
+        return String.format("%n  %-34s %.3f wraps/game", catalog.cardName(card),
+                             games == 0 ? 0.0 : (double) cardWraps[card] / games);
+    }
+
+    private static String quantiles(QuantileSketch q) {
+        return String.format("  (p10 %d, p50 %d, p90 %d, p99 %d)", q.quantile(0.10),
+                             q.quantile(0.50), q.quantile(0.90), q.quantile(0.99));
+    }
+
+    private static double pct(long part, long whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+
+    /** @return indices of counts, largest count first */
+    private static int[] ranked(long[] counts) {
+        return IntStream.range(0, counts.length).boxed()
+            .sorted((a, b) -> Long.compare(counts[b], counts[a]))
+            .mapToInt(Integer::intValue).toArray();
+    }
+}
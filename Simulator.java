@@ -0,0 +1,210 @@
+/**
+ * Headless Monte Carlo simulation engine.
+ *
+ * Plays complete games (setup → startDay → turns → endGame) with SimpleBot
+ * players in every seat and no console output (each game's events go to
+ * its worker's SimulationResult, which only counts scene wraps), spread
+ * across all cores with a fork-join pool.  The board/card Catalog is loaded once and every game
+ * instantiates its own Board and deck from it, so workers never share
+ * mutable model objects.
+ *
+ * Usage:
+ *   java Simulator <games> <numPlayers> [threads] [boardXML] [cardsXML]
+ *                  [--seed <n>]     (same seed ⇒ same games, bit for bit)
+ *                  [--journal <f>]  (record every finished game for replay)
+ *                  [--metrics]      (collect and print EngineMetrics)
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class Simulator {
+
+    /** Safety cap so a pathological game cannot stall a worker forever. */
+    static final int MAX_TURNS = 10_000;
+
+    /** Games a fork-join leaf plays sequentially before splitting further. */
+    private static final int BATCH_SIZE = 64;
+
+    private final int     numPlayers;
+    private final Catalog catalog;
+    private final long    seed;
+
+    /** Records every finished game when set */
+    private CommandJournal journal;
+
+    /** Receives every game's command counts and latencies when set */
+    private EngineMetrics  metrics;
+
+    /**
+     * @param numPlayers 2–8 players per game
+     * @param catalog    Board/card catalog shared by every game
+     * @param seed       Base seed: game i is set up with seed + i and its
+     *                   bots with seeds derived from it, so any single game
+     *                   can be replayed on its own
+     */
+    public Simulator(int numPlayers, Catalog catalog, long seed) {
+        this.numPlayers = numPlayers;
+        this.catalog    = catalog;
+        this.seed       = seed;
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        String       seedArg = Deadwood.takeOption(argList, "--seed");
+        String       jrnlArg = Deadwood.takeOption(argList, "--journal");
+        boolean      metrics = argList.remove("--metrics");
+        args = argList.toArray(new String[0]);
+
+        long seed = System.nanoTime();
+        if (seedArg != null) {
+            try {
+                seed = Long.parseLong(seedArg);
+            } catch (NumberFormatException e) {
+                System.err.println("Error: --seed must be an integer.");
+                System.exit(1);
+            }
+        }
+
+        if (args.length < 2) {
+            System.err.println("Usage: java Simulator <games> <numPlayers>"
+                + " [threads] [boardXML] [cardsXML] [--seed <n>] [--journal <file>] [--metrics]");
+            System.exit(1);
+        }
+
+        int games, numPlayers, threads;
+        try {
+            games      = Integer.parseInt(args[0]);
+            numPlayers = Integer.parseInt(args[1]);
+            threads    = args.length >= 3 ? Integer.parseInt(args[2])
+                                          : Runtime.getRuntime().availableProcessors();
+        } catch (NumberFormatException e) {
+            System.err.println("Error: games, numPlayers and threads must be integers.");
+            System.exit(1);
+            return;
+        }
+        if (numPlayers < 2 || numPlayers > 8) {
+            System.err.println("Error: Deadwood supports 2–8 players.");
+            System.exit(1);
+        }
+
+        String boardFile = args.length >= 4 ? args[3] : "board.xml";
+        String cardsFile = args.length >= 5 ? args[4] : "cards.xml";
+
+        Catalog catalog;
+        try {
+            catalog = Catalog.load(boardFile, cardsFile);
+        } catch (Exception e) {
+            System.err.println("Failed to load game data: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        Simulator sim = new Simulator(numPlayers, catalog, seed);
+        if (metrics) {
+            EngineMetrics.registerMBean();
+            sim.metrics = EngineMetrics.GLOBAL;
+        }
+        if (jrnlArg != null) {
+            try {
+                sim.journal = new CommandJournal(Paths.get(jrnlArg), catalog);
+            } catch (Exception e) {
+                System.err.println("Failed to open journal: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        long start = System.nanoTime();
+        SimulationResult result = sim.run(games, threads);
+        double secs = (System.nanoTime() - start) / 1e9;
+        if (sim.journal != null) {
+            try {
+                sim.journal.close();
+            } catch (IOException e) {
+                System.err.println("Failed to write journal: " + e.getMessage());
+            }
+        }
+
+        System.out.println(result);
+        System.out.printf("Seed         : %d%n", sim.seed);
+        System.out.printf("Elapsed      : %.2f s on %d thread(s)%n", secs, threads);
+        System.out.printf("Throughput   : %.0f games/sec%n", games / secs);
+        if (sim.metrics != null) System.out.print(sim.metrics.getReport());
+    }
+
+    // ── Simulation ────────────────────────────────────────────────────────────
+
+    /**
+     * Plays the given number of games on a dedicated fork-join pool.
+     * @param games   Number of complete games to play
+     * @param threads Pool parallelism
+     * @return Aggregated results of every game
+     */
+    public SimulationResult run(int games, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new GameBatch(0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a single game headlessly and records it into the result.
+     * @param gameIndex Index of the game within the run (seeds it and its bots)
+     * @param result    Worker-local result to record into
+     */
+    void playGame(int gameIndex, SimulationResult result) {
+        GameManager gm = new GameManager();
+        gm.setEventSink(result.sink());
+        gm.setMetrics(metrics);
+        if (journal != null) gm.setJournal(journal.newRecorder());
+        gm.setup(numPlayers, catalog, seed + gameIndex);
+
+        Bot[] bots = new Bot[numPlayers];
+        for (int i = 0; i < numPlayers; i++) {
+            bots[i] = new SimpleBot(gm.nextBotSeed());
+        }
+
+        int turns = 0;
+        while (!gm.isGameOver() && turns < MAX_TURNS) {
+            bots[gm.getCurrentPlayerIndex()].playTurn(gm);
+            turns++;
+        }
+        result.record(gm, turns, gm.isGameOver());
+    }
+
+    /** Recursively splits a range of game indices across the pool. */
+    private class GameBatch extends RecursiveTask<SimulationResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        GameBatch(int from, int to) {
+            this.from = from;
+            this.to   = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= BATCH_SIZE) {
+                SimulationResult result = new SimulationResult(catalog);
+                for (int i = from; i < to; i++) playGame(i, result);
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            GameBatch left = new GameBatch(from, mid);
+            left.fork();
+            SimulationResult right = new GameBatch(mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Streaming (StAX) alternative to the DOM-based XMLParser.
+ *
+ * Reads board.xml and cards.xml in a single forward pass with an
+ * XMLStreamReader, building model objects as elements go by instead of
+ * materialising a DOM and re-querying it with getElementsByTagName().
+ * Neighbor names are collected during the pass and resolved in a deferred
+ * fix-up step once every room exists, so rooms may reference rooms that
+ * appear later in the file.
+ *
+ * Produces exactly the same Board (rooms, takes, extras, neighbor order,
+ * upgrades) and List<SceneCard> as XMLParser.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StaxParser {
+
+    private final XMLInputFactory factory;
+
+    public StaxParser() {
+        factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /**
+     * Parses board.xml in one pass and returns a fully wired Board.
+     *
+     * @param filename Path to board.xml
+     * @return Initialised Board
+     */
+    public Board parseBoard(String filename) throws Exception {
+        Board board = new Board();
+
+        // Neighbor references resolved after the pass: room i → name i
+        List<Room>   nbOwners = new ArrayList<>();
+        List<String> nbNames  = new ArrayList<>();
+
+        Room          room   = null;   // room whose element we are inside
+        Set           set    = null;   // same as room when it is a Set
+        CastingOffice office = null;
+
+        try (InputStream in = open(filename)) {
+            XMLStreamReader xr = factory.createXMLStreamReader(in);
+            try {
+                while (xr.hasNext()) {
+                    int ev = xr.next();
+                    if (ev == XMLStreamConstants.END_ELEMENT) {
+                        String tag = xr.getLocalName();
+                        if (tag.equals("set") || tag.equals("trailer")
+                                || tag.equals("office")) {
+                            board.addRoom(room);
+                            room = null;
+                            set  = null;
+                        }
+                        continue;
+                    }
+                    if (ev != XMLStreamConstants.START_ELEMENT) continue;
+
+                    switch (xr.getLocalName()) {
+                        case "set":
+                            set  = new Set(xr.getAttributeValue(null, "name"));
+                            room = set;
+                            break;
+
+                        case "trailer":
+                            room = new Trailer();
+                            break;
+
+                        case "office":
+                            office = new CastingOffice();
+                            room   = office;
+                            break;
+
+                        case "neighbor":
+                            nbOwners.add(room);
+                            nbNames.add(xr.getAttributeValue(null, "name"));
+                            break;
+
+                        case "take":
+                            set.addTake(new Take(intAttr(xr, "number")));
+                            break;
+
+                        case "part": {
+                            String partName  = xr.getAttributeValue(null, "name");
+                            int    partLevel = intAttr(xr, "level");
+                            String line      = readLine(xr);
+                            set.addExtra(new Role(partName, partLevel, line, false));
+                            break;
+                        }
+
+                        case "upgrade":
+                            office.addUpgrade(new Upgrade(intAttr(xr, "level"),
+                                xr.getAttributeValue(null, "currency"),
+                                intAttr(xr, "amt")));
+                            break;
+
+                        default:
+                            // <board>, <neighbors>, <takes>, <parts>, <area>, …
+                    }
+                }
+            } finally {
+                xr.close();
+            }
+        }
+
+        // ── Deferred neighbor fix-up ──────────────────────────────────────────
+        for (int i = 0; i < nbOwners.size(); i++) {
+            Room nb = board.getRoom(nbNames.get(i));
+            if (nb != null) nbOwners.get(i).addNeighbor(nb);
+        }
+        board.buildDistanceTable();
+        return board;
+    }
+
+    /**
+     * Parses cards.xml in one pass and returns all SceneCards.
+     *
+     * @param filename Path to cards.xml
+     * @return List of SceneCard objects (not yet shuffled)
+     */
+    public List<SceneCard> parseCards(String filename) throws Exception {
+        List<SceneCard> cards = new ArrayList<>();
+
+        String cardName = null;
+        int    budget   = 0;
+        SceneCard card  = null;
+
+        try (InputStream in = open(filename)) {
+            XMLStreamReader xr = factory.createXMLStreamReader(in);
+            try {
+                while (xr.hasNext()) {
+                    if (xr.next() != XMLStreamConstants.START_ELEMENT) continue;
+
+                    switch (xr.getLocalName()) {
+                        case "card":
+                            cardName = xr.getAttributeValue(null, "name");
+                            budget   = intAttr(xr, "budget");
+                            card     = null;
+                            break;
+
+                        case "scene": {
+                            int    sceneNum = intAttr(xr, "number");
+                            String desc     = xr.getElementText().trim();
+                            card = new SceneCard(cardName, budget, sceneNum, desc);
+                            cards.add(card);
+                            break;
+                        }
+
+                        case "part": {
+                            String partName = xr.getAttributeValue(null, "name");
+                            int    level    = intAttr(xr, "level");
+                            String line     = readLine(xr);
+                            card.addRole(new Role(partName, level, line, true));
+                            break;
+                        }
+
+                        default:
+                            // <cards>, <area>, …
+                    }
+                }
+            } finally {
+                xr.close();
+            }
+        }
+        return cards;
+    }
+
+    // ── Internal helpers ──────────────────────────────────────────────────────
+
+    private InputStream open(String filename) throws Exception {
+        return new BufferedInputStream(new FileInputStream(filename), 16 * 1024);
+    }
+
+    private static int intAttr(XMLStreamReader xr, String name) {
+        return Integer.parseInt(xr.getAttributeValue(null, name));
+    }
+
+    /**
+     * Advances from a <part> start tag to its <line> child and returns the
+     * trimmed text.  Leaves the reader on the </line> end tag; the caller's
+     * loop then skips the remaining </part>.
+     */
+    private static String readLine(XMLStreamReader xr) throws XMLStreamException {
+        while (xr.hasNext()) {
+            int ev = xr.next();
+            if (ev == XMLStreamConstants.START_ELEMENT
+                    && xr.getLocalName().equals("line")) {
+                return xr.getElementText().trim();
+            }
+            if (ev == XMLStreamConstants.END_ELEMENT
+                    && xr.getLocalName().equals("part")) {
+                break;
+            }
+        }
+        throw new XMLStreamException("<part> without <line>", xr.getLocation());
+    }
+}
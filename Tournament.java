@@ -0,0 +1,398 @@
+/**
+ * Headless tournament between computer-player strategies.
+ *
+ * Entrants meet two at a time.  A pairing plays one game for every player
+ * count requested and every seating of the two: the first entrant takes
+ * ⌈n/2⌉ consecutive seats starting at each of the n seats, then the two
+ * swap, so both sit in every seat equally often and nobody profits from
+ * turn order.  Those 2n games per player count make a pairing's cycle.
+ *
+ *   round robin – every pairing's cycle, repeated until the game budget
+ *                 is spent;
+ *   Swiss       – a fixed number of rounds; each round pairs entrants by
+ *                 current rating (the best unpaired entrant meets the
+ *                 closest-rated one it has met least) and plays each
+ *                 pairing's cycle until the round's share of the budget
+ *                 is spent.  An odd entrant out sits the round out.
+ * Only whole cycles are played, so the pairings of a schedule play equally
+ * many games in every seating: round robin rounds the budget up to whole
+ * cycles, and a Swiss round plays the whole number of cycles nearest its
+ * share of the budget (at least one).
+ *
+ * Like Simulator, games run on a fork-join pool (work stealing evens out
+ * short and long games), each with its own seeded GameManager built from
+ * the shared Catalog and a NullSink.  Game i of the tournament is set up
+ * with seed + i and its bots are seeded from that game's own random
+ * stream (GameManager.nextBotSeed), so a seeded tournament plays the same
+ * games on any number of threads.  Results stream into worker-local TournamentResults
+ * that are merged per block; the Elo ratings and 95% intervals are refit
+ * after every block and printed as the tournament goes.
+ *
+ * Entrants:
+ *   simple          SimpleBot
+ *   planner         SimpleBot upgrading as UpgradePlanner advises
+ *   greedy          GreedyAgent
+ *   random          RandomAgent
+ *   mcts[:<iters>]  single-threaded MctsAgent, <iters> iterations per
+ *                   decision (default 200)
+ * Naming an entrant twice is allowed (a sanity check: both should rate
+ * within their intervals of each other); repeats are reported as name#2, …
+ *
+ * Usage:
+ *   java Tournament <games> <entrant> <entrant> [entrant …]
+ *                   [--players <counts>]  (e.g. 4, 2-8 or 2,3,5; default 2-8)
+ *                   [--swiss <rounds>]    (default: round robin)
+ *                   [--threads <n>] [--seed <n>]
+ *                   [--board <file>] [--cards <file>]
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class Tournament {
+
+    /** Games a fork-join leaf plays sequentially before splitting further. */
+    private static final int BATCH_SIZE = 32;
+
+    /** Round-robin progress reports (rating refits) over the whole budget */
+    private static final int REPORTS = 10;
+
+    /** Iterations per decision of an "mcts" entrant without a count */
+    private static final int DEFAULT_MCTS_ITERATIONS = 200;
+
+    private final Catalog  catalog;
+    private final String[] names;    // entrant specs
+    private final String[] labels;   // names as reported (repeats numbered)
+    private final int[]    counts;
+    private final long     seed;
+
+    /**
+     * @param catalog Board/card catalog shared by every game
+     * @param names   Entrant specs (see the class comment)
+     * @param counts  Player counts to play, each 2–8
+     * @param seed    Base seed: game i is set up with seed + i
+     */
+    public Tournament(Catalog catalog, String[] names, int[] counts, long seed) {
+        for (String name : names) close(newBot(name, 0));   // reject unknown entrants early
+        this.catalog = catalog;
+        this.names   = names.clone();
+        this.labels  = new String[names.length];
+        this.counts  = counts.clone();
+        for (int i = 0; i < names.length; i++) {
+            int seen = 1;
+            for (int j = 0; j < i; j++) if (names[j].equalsIgnoreCase(names[i])) seen++;
+            labels[i] = seen == 1 ? names[i] : names[i] + "#" + seen;
+        }
+        this.seed    = seed;
+    }
+
+    // ── Main ──────────────────────────────────────────────────────────────────
+
+    public static void main(String[] args) {
+        List<String> argList = new ArrayList<>(Arrays.asList(args));
+        String       seedArg = Deadwood.takeOption(argList, "--seed");
+        String       thrdArg = Deadwood.takeOption(argList, "--threads");
+        String       swisArg = Deadwood.takeOption(argList, "--swiss");
+        String       plyrArg = Deadwood.takeOption(argList, "--players");
+        String       bordArg = Deadwood.takeOption(argList, "--board");
+        String       cardArg = Deadwood.takeOption(argList, "--cards");
+        args = argList.toArray(new String[0]);
+
+        if (args.length < 3) {
+            System.err.println("Usage: java Tournament <games> <entrant> <entrant> [entrant …]"
+                + " [--players <counts>] [--swiss <rounds>] [--threads <n>] [--seed <n>]"
+                + " [--board <file>] [--cards <file>]");
+            System.err.println("Entrants: simple, planner, greedy, random, mcts[:<iterations>]");
+            System.exit(1);
+        }
+
+        int   games, threads, rounds;
+        long  seed;
+        int[] counts;
+        try {
+            games   = Integer.parseInt(args[0]);
+            threads = thrdArg != null ? Integer.parseInt(thrdArg)
+                                      : Runtime.getRuntime().availableProcessors();
+            rounds  = swisArg != null ? Integer.parseInt(swisArg) : 0;
+            seed    = seedArg != null ? Long.parseLong(seedArg) : System.nanoTime();
+            counts  = parseCounts(plyrArg != null ? plyrArg : "2-8");
+        } catch (NumberFormatException e) {
+            System.err.println("Error: games, --threads, --swiss, --seed and --players must be integers.");
+            System.exit(1);
+            return;
+        }
+        for (int n : counts) {
+            if (n < 2 || n > GameManager.MAX_PLAYERS) {
+                System.err.println("Error: Deadwood supports 2–8 players.");
+                System.exit(1);
+            }
+        }
+        if (swisArg != null && rounds < 1) {
+            System.err.println("Error: --swiss needs at least one round.");
+            System.exit(1);
+        }
+
+        Catalog catalog;
+        try {
+            catalog = Catalog.load(bordArg != null ? bordArg : "board.xml",
+                                   cardArg != null ? cardArg : "cards.xml");
+        } catch (Exception e) {
+            System.err.println("Failed to load game data: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        Tournament t;
+        try {
+            t = new Tournament(catalog, Arrays.copyOfRange(args, 1, args.length), counts, seed);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        TournamentResult result = rounds > 0 ? t.runSwiss(games, rounds, threads, true)
+                                             : t.runRoundRobin(games, threads, true);
+        double secs = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(result);
+        System.out.printf("Seed         : %d%n", seed);
+        System.out.printf("Elapsed      : %.2f s on %d thread(s)%n", secs, threads);
+        System.out.printf("Throughput   : %.0f games/sec%n", result.getGames() / secs);
+    }
+
+    /** Parses "4", "2-8" or "2,3,5" (ranges allowed in a list). */
+    static int[] parseCounts(String spec) {
+        List<Integer> out = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            int dash = part.indexOf('-');
+            int lo   = Integer.parseInt(part.substring(0, dash < 0 ? part.length() : dash).trim());
+            int hi   = dash < 0 ? lo : Integer.parseInt(part.substring(dash + 1).trim());
+            for (int n = lo; n <= hi; n++) if (!out.contains(n)) out.add(n);
+        }
+        return out.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // ── Tournament formats ────────────────────────────────────────────────────
+
+    /**
+     * Plays every pairing's cycle in turn until games are played.
+     * @param games   Games to play in total, rounded up to whole cycles
+     * @param threads Pool parallelism
+     * @param report  true = print refit ratings as blocks complete
+     * @return Aggregated results
+     */
+    public TournamentResult runRoundRobin(int games, int threads, boolean report) {
+        List<int[]> schedule = new ArrayList<>();
+        for (int a = 0; a < names.length; a++) {
+            for (int b = a + 1; b < names.length; b++) addCycle(schedule, a, b);
+        }
+
+        int whole = (games + schedule.size() - 1) / schedule.size() * schedule.size();
+        if (report && whole != games) {
+            System.out.printf("Games        : %d, rounded up to %d (whole cycles of %d)%n",
+                              games, whole, schedule.size());
+        }
+        games = whole;
+
+        TournamentResult total = new TournamentResult(labels);
+        ForkJoinPool     pool  = new ForkJoinPool(threads);
+        try {
+            // Whole cycles per block, so every block is seat- and count-balanced
+            int cycles = Math.max(1, games / REPORTS / schedule.size());
+            int block  = cycles * schedule.size();
+            for (int from = 0; from < games; from += block) {
+                int to = Math.min(games, from + block);
+                total.merge(pool.invoke(new MatchBatch(schedule, 0, from, to)));
+                if (report) progress(total);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return total;
+    }
+
+    /**
+     * Plays a Swiss tournament, re-pairing by rating every round.
+     * @param games   Games to play in total (shared evenly by the rounds,
+     *                each rounded to whole cycles)
+     * @param rounds  Rounds to play
+     * @param threads Pool parallelism
+     * @param report  true = print refit ratings after every round
+     * @return Aggregated results
+     */
+    public TournamentResult runSwiss(int games, int rounds, int threads, boolean report) {
+        TournamentResult total = new TournamentResult(labels);
+        ForkJoinPool     pool  = new ForkJoinPool(threads);
+        try {
+            int played = 0;
+            for (int round = 0; round < rounds; round++) {
+                List<int[]> schedule = new ArrayList<>();
+                int[] pairs = swissPairs(total);
+                for (int i = 0; i + 1 < pairs.length; i += 2) addCycle(schedule, pairs[i], pairs[i + 1]);
+
+                // Spread what is left over the rounds left, in whole cycles (at least one)
+                int want = (games - played + rounds - round - 1) / (rounds - round);
+                int size = Math.max(1, (want + schedule.size() / 2) / schedule.size())
+                         * schedule.size();
+                total.merge(pool.invoke(new MatchBatch(schedule, played, played, played + size)));
+                played += size;
+                if (report) {
+                    System.out.printf("Round %-3d    : %s%n", round + 1, total.summary());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return total;
+    }
+
+    /**
+     * Orders entrants into pairs for the next Swiss round: the best-rated
+     * unpaired entrant meets the unpaired one it has met least often, the
+     * closest in rating on a tie.
+     * @return Entrant indices, pairs adjacent; an odd last entrant sits out
+     */
+    private int[] swissPairs(TournamentResult standings) {
+        int[]     order  = standings.ratings().ranked();
+        boolean[] paired = new boolean[order.length];
+        int[]     pairs  = new int[order.length];
+        int       out    = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (paired[i]) continue;
+            int match = -1;
+            for (int j = i + 1; j < order.length; j++) {
+                if (paired[j]) continue;
+                if (match < 0 || standings.getMeetings(order[i], order[j])
+                               < standings.getMeetings(order[i], order[match])) match = j;
+            }
+            if (match < 0) break;
+            paired[i] = paired[match] = true;
+            pairs[out++] = order[i];
+            pairs[out++] = order[match];
+        }
+        return Arrays.copyOf(pairs, out);
+    }
+
+    /** Appends a's and b's cycle: every player count, every seating, both ways round. */
+    private void addCycle(List<int[]> schedule, int a, int b) {
+        for (int n : counts) {
+            for (int swap = 0; swap < 2; swap++) {
+                int first = swap == 0 ? a : b, second = swap == 0 ? b : a;
+                for (int shift = 0; shift < n; shift++) {
+                    int[] seats = new int[n];
+                    for (int s = 0; s < n; s++) {
+                        seats[s] = (s - shift + n) % n < (n + 1) / 2 ? first : second;
+                    }
+                    schedule.add(seats);
+                }
+            }
+        }
+    }
+
+    private void progress(TournamentResult total) {
+        System.out.printf("%-13s: %s%n", total.getGames() + " games", total.summary());
+    }
+
+    // ── Games ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Creates one seat's bot.
+     * @throws IllegalArgumentException for an unknown entrant
+     */
+    static Bot newBot(String name, long seed) {
+        String spec = name.toLowerCase();
+        if (spec.equals("simple"))  return new SimpleBot(seed);
+        if (spec.equals("planner")) return new SimpleBot(seed, true);
+        if (spec.equals("greedy"))  return new GreedyAgent();
+        if (spec.equals("random"))  return new RandomAgent(seed);
+        if (spec.equals("mcts") || spec.startsWith("mcts:")) {
+            int iterations = DEFAULT_MCTS_ITERATIONS;
+            if (spec.length() > 4) {
+                try {
+                    iterations = Integer.parseInt(spec.substring(5));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad iteration count in " + name);
+                }
+                if (iterations < 1) throw new IllegalArgumentException("Bad iteration count in " + name);
+            }
+            return new MctsAgent(0, iterations, 1, 12, true, seed);
+        }
+        throw new IllegalArgumentException("Unknown entrant: " + name
+            + " (expected simple, planner, greedy, random or mcts[:<iterations>])");
+    }
+
+    /** Releases a bot's threads, if it has any. */
+    private static void close(Bot bot) {
+        if (bot instanceof MctsAgent) ((MctsAgent) bot).close();
+    }
+
+    /**
+     * Plays game gameIndex of the tournament and records it.
+     * @param gameIndex Index of the game within the tournament (seeds it and its bots)
+     * @param seats     Entrant index of every seat
+     * @param result    Worker-local result to record into
+     */
+    void playGame(long gameIndex, int[] seats, TournamentResult result) {
+        int         n  = seats.length;
+        GameManager gm = new GameManager();
+        gm.setEventSink(NullSink.INSTANCE);
+        gm.setup(n, catalog, seed + gameIndex);
+
+        Bot[] bots = new Bot[n];
+        try {
+            for (int i = 0; i < n; i++) {
+                bots[i] = newBot(names[seats[i]], gm.nextBotSeed());
+            }
+            int turns = 0;
+            while (!gm.isGameOver() && turns < Simulator.MAX_TURNS) {
+                bots[gm.getCurrentPlayerIndex()].playTurn(gm);
+                turns++;
+            }
+        } finally {
+            for (Bot bot : bots) close(bot);
+        }
+
+        int[] score = new int[n];
+        for (int i = 0; i < n; i++) score[i] = gm.getPlayers().get(i).getScore();
+        result.record(seats, score, gm.isGameOver());
+    }
+
+    /** Recursively splits a range of game indices across the pool. */
+    private class MatchBatch extends RecursiveTask<TournamentResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<int[]> schedule;
+        private final int         base;       // game index of schedule[0]
+        private final int         from, to;
+
+        MatchBatch(List<int[]> schedule, int base, int from, int to) {
+            this.schedule = schedule;
+            this.base     = base;
+            this.from     = from;
+            this.to       = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from <= BATCH_SIZE) {
+                TournamentResult result = new TournamentResult(labels);
+                for (int i = from; i < to; i++) {
+                    playGame(i, schedule.get((i - base) % schedule.size()), result);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            MatchBatch left = new MatchBatch(schedule, base, from, mid);
+            left.fork();
+            TournamentResult right = new MatchBatch(schedule, base, mid, to).compute();
+            return right.merge(left.join());
+        }
+    }
+}
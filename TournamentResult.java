@@ -0,0 +1,265 @@
+/**
+ * Aggregated outcome of tournament games, with Elo-scale ratings.
+ *
+ * Like SimulationResult, each Tournament worker fills its own result and
+ * the partial results are combined with merge(); everything is a counter
+ * sized by the number of entrants, so memory does not grow with games.
+ *
+ * A game counts once for every pair of different entrants at its table:
+ * entrant a's result against b is the share of (a seat, b seat) pairs in
+ * which a's seat finished ahead (ties count half).  A 4-player game with
+ * two seats each is therefore one a–b result worth 0 … 1, not four
+ * correlated ones, which keeps the confidence intervals honest.
+ *
+ * ratings() fits a Bradley–Terry model to those results by the MM
+ * algorithm and reports it on the Elo scale (mean 1500, 400 points = 10:1
+ * odds).  The fit depends only on the counts, never on the order games
+ * finished in, so a seeded tournament reports the same ratings on any
+ * number of threads.  One virtual drawn game between every two entrants
+ * keeps ratings finite for an entrant that never lost (or never met
+ * another yet, as in the first Swiss round).  Each rating comes with a
+ * 95% interval from the model's Fisher information (others held fixed).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class TournamentResult {
+
+    /** Elo points per natural-log unit of odds */
+    private static final double ELO_PER_NAT = 400 / Math.log(10);
+
+    /** Normal quantile of a two-sided 95% interval */
+    private static final double Z95 = 1.96;
+
+    private final String[] names;
+    private final int      k;
+
+    private long games;
+    private long unfinished;   // games cut off by the turn limit (not rated)
+
+    private final double[] points;     // [a * k + b] a's results against b
+    private final long[]   meetings;   // [a * k + b] games a and b shared
+    private final long[]   seats;      // [a] seats a played in finished games
+    private final double[] tableWins;  // [a] top scores (shared on a tie)
+    private final long[]   scoreSum;   // [a] final scores summed over seats
+
+    // Scratch for record(): comparisons and points of one game, per pair
+    private final int[]    pairCmp;
+    private final double[] pairPts;
+
+    /**
+     * @param names Entrant names, indexed as in every Match
+     */
+    public TournamentResult(String[] names) {
+        this.names     = names.clone();
+        this.k         = names.length;
+        this.points    = new double[k * k];
+        this.meetings  = new long[k * k];
+        this.seats     = new long[k];
+        this.tableWins = new double[k];
+        this.scoreSum  = new long[k];
+        this.pairCmp   = new int[k * k];
+        this.pairPts   = new double[k * k];
+    }
+
+    // ── Recording ─────────────────────────────────────────────────────────────
+
+    /**
+     * Records one game.
+     * @param entrant  Entrant index of every seat
+     * @param score    Final score of every seat
+     * @param finished false if the game hit the turn limit (counted, not rated)
+     */
+    public void record(int[] entrant, int[] score, boolean finished) {
+        games++;
+        if (!finished) {
+            unfinished++;
+            return;
+        }
+
+        int n = entrant.length, top = Integer.MIN_VALUE, ties = 0;
+        for (int s = 0; s < n; s++) {
+            if (score[s] > top)       { top = score[s]; ties = 1; }
+            else if (score[s] == top) ties++;
+        }
+        for (int s = 0; s < n; s++) {
+            int a = entrant[s];
+            seats[a]++;
+            scoreSum[a] += score[s];
+            if (score[s] == top) tableWins[a] += 1.0 / ties;
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int a = entrant[i], b = entrant[j];
+                if (a == b) continue;
+                pairCmp[a * k + b]++;
+                pairPts[a * k + b] += score[i] > score[j] ? 1
+                                    : score[i] == score[j] ? 0.5 : 0;
+            }
+        }
+        for (int ab = 0; ab < k * k; ab++) {
+            if (pairCmp[ab] == 0) continue;
+            points[ab]   += pairPts[ab] / pairCmp[ab];
+            meetings[ab]++;
+            pairCmp[ab]   = 0;
+            pairPts[ab]   = 0;
+        }
+    }
+
+    /**
+     * Adds another result's counts into this one.
+     * @param other Result over the same entrants
+     * @return this
+     */
+    public TournamentResult merge(TournamentResult other) {
+        games      += other.games;
+        unfinished += other.unfinished;
+        for (int ab = 0; ab < k * k; ab++) {
+            points[ab]   += other.points[ab];
+            meetings[ab] += other.meetings[ab];
+        }
+        for (int a = 0; a < k; a++) {
+            seats[a]     += other.seats[a];
+            tableWins[a] += other.tableWins[a];
+            scoreSum[a]  += other.scoreSum[a];
+        }
+        return this;
+    }
+
+    // ── Ratings ───────────────────────────────────────────────────────────────
+
+    /** Elo ratings and their 95% half-widths, indexed by entrant. */
+    public static final class Ratings {
+        private final double[] elo;
+        private final double[] ci95;
+
+        Ratings(double[] elo, double[] ci95) {
+            this.elo  = elo;
+            this.ci95 = ci95;
+        }
+
+        public double getElo(int entrant)  { return elo[entrant];  }
+        public double getCi95(int entrant) { return ci95[entrant]; }
+
+        /** @return entrant indices, highest rating first (index order on ties) */
+        public int[] ranked() {
+            return IntStream.range(0, elo.length).boxed()
+                .sorted((a, b) -> Double.compare(elo[b], elo[a]))
+                .mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /** @return the Bradley–Terry fit of the results so far */
+    public Ratings ratings() {
+        double[] n = new double[k * k];   // games incl. the virtual draw
+        double[] w = new double[k];       // points incl. the virtual draws
+        for (int a = 0; a < k; a++) {
+            for (int b = 0; b < k; b++) {
+                if (a == b) continue;
+                n[a * k + b] = meetings[a * k + b] + 1;
+                w[a]        += points[a * k + b] + 0.5;
+            }
+        }
+
+        double[] gamma = new double[k];
+        Arrays.fill(gamma, 1.0);
+        double[] next = new double[k];
+        for (int iter = 0; iter < 10_000; iter++) {
+            double logMean = 0;
+            for (int a = 0; a < k; a++) {
+                double denom = 0;
+                for (int b = 0; b < k; b++) {
+                    if (a != b) denom += n[a * k + b] / (gamma[a] + gamma[b]);
+                }
+                next[a]  = denom == 0 ? 1 : w[a] / denom;
+                logMean += Math.log(next[a]) / k;
+            }
+            double change = 0, scale = Math.exp(logMean);
+            for (int a = 0; a < k; a++) {
+                next[a] /= scale;
+                change   = Math.max(change, Math.abs(Math.log(next[a] / gamma[a])));
+            }
+            double[] t = gamma; gamma = next; next = t;
+            if (change < 1e-10) break;
+        }
+
+        double[] elo  = new double[k];
+        double[] ci95 = new double[k];
+        for (int a = 0; a < k; a++) {
+            double info = 0;
+            for (int b = 0; b < k; b++) {
+                if (a == b) continue;
+                double p = gamma[a] / (gamma[a] + gamma[b]);
+                info    += n[a * k + b] * p * (1 - p);
+            }
+            elo[a]  = 1500 + ELO_PER_NAT * Math.log(gamma[a]);
+            ci95[a] = info == 0 ? Double.POSITIVE_INFINITY
+                                : Z95 * ELO_PER_NAT / Math.sqrt(info);
+        }
+        return new Ratings(elo, ci95);
+    }
+
+    // ── Accessors ─────────────────────────────────────────────────────────────
+
+    public long getGames()      { return games;      }
+    public long getUnfinished() { return unfinished; }
+
+    /** @return rated games entrants a and b have shared */
+    public long getMeetings(int a, int b) { return meetings[a * k + b]; }
+
+    /** @return one line of current ratings, best first (progress reports) */
+    public String summary() {
+        Ratings       r  = ratings();
+        StringBuilder sb = new StringBuilder();
+        for (int a : r.ranked()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(String.format("%s %.0f±%.0f", names[a], r.getElo(a), r.getCi95(a)));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        Ratings       r  = ratings();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Games played : ").append(games);
+        if (unfinished > 0) sb.append(" (").append(unfinished).append(" hit turn limit)");
+
+        int width = 8;
+        for (String s : names) width = Math.max(width, s.length());
+        sb.append(String.format("%n  %-" + width + "s %6s %6s %8s %7s %8s %9s",
+            "entrant", "Elo", "±95%", "games", "score", "win/seat", "avg score"));
+        for (int a : r.ranked()) {
+            double pts = 0;
+            long   met = 0;
+            for (int b = 0; b < k; b++) {
+                pts += points[a * k + b];
+                met += meetings[a * k + b];
+            }
+            sb.append(String.format("%n  %-" + width + "s %6.0f %6.0f %8d %6.1f%% %7.1f%% %9.2f",
+                names[a], r.getElo(a), r.getCi95(a), met, pct(pts, met),
+                pct(tableWins[a], seats[a]),
+                seats[a] == 0 ? 0.0 : (double) scoreSum[a] / seats[a]));
+        }
+
+        sb.append("\nHead to head (row's score against column):");
+        sb.append(String.format("%n  %-" + width + "s", ""));
+        for (int b = 0; b < k; b++) sb.append(String.format(" %" + width + "s", names[b]));
+        for (int a = 0; a < k; a++) {
+            sb.append(String.format("%n  %-" + width + "s", names[a]));
+            for (int b = 0; b < k; b++) {
+                long met = meetings[a * k + b];
+                sb.append(String.format(" %" + width + "s", a == b || met == 0 ? "-"
+                    : String.format("%.1f%%", pct(points[a * k + b], met))));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double pct(double part, double whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+}
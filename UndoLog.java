@@ -0,0 +1,102 @@
+/**
+ * Undo log for search: records the prior value of everything a
+ * GameManager command mutates so the moves can later be rolled back in
+ * O(changes).
+ *
+ * Entries are fixed-size int records in one growable array:
+ *   PLAYER     – seat, rank, dollars, credits, room id, role slot, chips, flags
+ *   SET        – set index, take mask
+ *   GAME       – current seat, turn count, game-over flag, day
+ *   CHECKPOINT – index of a pooled GameState holding the whole position
+ *
+ * Day transitions (endDay → startDay / endGame) touch every set, player and
+ * the deck, so they are logged as a CHECKPOINT that restores the full
+ * position.  Checkpoint states are pooled and reused; once the log and pool
+ * have grown to a search's depth, recording and undoing allocate nothing.
+ *
+ * The log is owned by one GameManager (see GameManager.setUndoLog) and is
+ * not thread-safe.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+public final class UndoLog {
+
+    static final int OP_PLAYER     = 0;
+    static final int OP_SET        = 1;
+    static final int OP_GAME       = 2;
+    static final int OP_CHECKPOINT = 3;
+
+    /** ints per record: op, index, up to seven values */
+    static final int RECORD = 9;
+
+    private int[] data = new int[RECORD * 256];
+    private int   size;
+
+    private final List<GameState> checkpoints = new ArrayList<>();
+    private int                   checkpointsInUse;
+
+    // ── Public API ────────────────────────────────────────────────────────────
+
+    /** @return current log position, to pass to GameManager.undoTo() later */
+    public int mark() { return size; }
+
+    /** @return true if nothing is recorded */
+    public boolean isEmpty() { return size == 0; }
+
+    /** Discards every record (the current position becomes the base). */
+    public void clear() {
+        size             = 0;
+        checkpointsInUse = 0;
+    }
+
+    // ── Recording (GameManager) ───────────────────────────────────────────────
+
+    /**
+     * Appends a record header and returns the offset of its first value
+     * slot; the caller fills data()[offset … offset+6].
+     */
+    int push(int op, int index) {
+        if (size + RECORD > data.length) {
+            int[] grown = new int[data.length * 2];
+            System.arraycopy(data, 0, grown, 0, size);
+            data = grown;
+        }
+        int base = size;
+        data[base]     = op;
+        data[base + 1] = index;
+        size += RECORD;
+        return base + 2;
+    }
+
+    /**
+     * Reserves a pooled state for a CHECKPOINT record.
+     * @param shape GameManager whose newState() sizes a fresh pool entry
+     * @return State the caller must fill with the current position
+     */
+    GameState pushCheckpoint(GameManager shape) {
+        if (checkpointsInUse == checkpoints.size()) checkpoints.add(shape.newState());
+        push(OP_CHECKPOINT, checkpointsInUse);
+        return checkpoints.get(checkpointsInUse++);
+    }
+
+    // ── Undo (GameManager) ────────────────────────────────────────────────────
+
+    /** @return raw record storage */
+    int[] data() { return data; }
+
+    /**
+     * Removes the newest record.
+     * @return offset of that record's op field in data()
+     */
+    int pop() {
+        size -= RECORD;
+        if (data[size] == OP_CHECKPOINT) checkpointsInUse--;
+        return size;
+    }
+
+    /** @return the pooled state referenced by a CHECKPOINT record */
+    GameState checkpoint(int index) { return checkpoints.get(index); }
+}
@@ -0,0 +1,218 @@
+/**
+ * Answers "how should this player spend at the Casting Office?" from the
+ * office's [level][currency] cost table.
+ *
+ * Each upgrade is paid whole in one currency and its price depends only on
+ * the target rank, never on the rank held, so reaching a rank through
+ * intermediate purchases only adds cost: the cheapest route to any rank is
+ * one purchase, and choosing the mix means choosing its currency.
+ *
+ * Two queries:
+ *   cheapest(…, target) – least spend that reaches the target rank now.
+ *   best(…, actsLeft)   – the purchase (or none) that maximises expected
+ *                         final getScore().  A plan's gain is the rank
+ *                         points gained, minus the points spent, plus
+ *                         actsLeft × the rise in expected points per act.
+ *
+ * Expected points per act at each rank are computed once from the deck and
+ * the exact Odds tables: for every card, the better of a level-1 extra
+ * ($1 on success) and the highest starring role the rank allows (2 credits
+ * on success plus that slot's share of the wrap payout, spread over the
+ * average number of takes), with no rehearsal chips, averaged over the
+ * deck.  That value is then scaled by the rank's role availability at the
+ * table: the roles a player of the rank may take on a set (the board's
+ * extras plus the deck's average card) times CONTESTED_SETS, per player,
+ * capped at 1.  At a crowded table the low roles everyone qualifies for
+ * are often taken, so rank is worth more there than the odds alone say.
+ * Both queries are a scan of at most 2 × ranks table entries and return an
+ * immutable Plan.
+ *
+ * actsPerDay() turns days into acts for actsLeft: a day ends once all but
+ * one scene has wrapped, so the board shoots a fixed number of takes per
+ * day, each costing ACTS_PER_TAKE acts, shared by the players.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.util.List;
+
+public final class UpgradePlanner {
+
+    /** Acts (failed ones included) per take shot, rounded from Simulator runs (SimpleBot, 2–8 players) */
+    public static final double ACTS_PER_TAKE = 1.9;
+
+    /** Sets a table's players crowd onto at once, fitted with Tournament (greedy vs simple, 2–8 players) */
+    public static final double CONTESTED_SETS = 1.75;
+
+    private final CastingOffice office;
+    private final double[]      actValue;     // [rank] expected points per act
+    private final double        takesPerDay;  // takes of all sets but one
+
+    /**
+     * @param office     Casting Office whose cost table is planned against
+     * @param cards      The game's scene cards
+     * @param sets       The board's sets (for the average number of takes)
+     * @param odds       Act and payout tables covering every card's budget
+     * @param numPlayers Players at the table (for role availability)
+     */
+    public UpgradePlanner(CastingOffice office, List<SceneCard> cards,
+                          List<Set> sets, Odds odds, int numPlayers) {
+        this.office   = office;
+        this.actValue = new double[office.getMaxLevel() + 1];
+
+        double takes = 0;
+        for (Set s : sets) takes += s.getTakes().size();
+        takesPerDay = sets.isEmpty() ? 0 : takes * (sets.size() - 1) / sets.size();
+        takes = sets.isEmpty() ? 1 : Math.max(1, takes / sets.size());
+
+        for (int rank = 1; rank < actValue.length; rank++) {
+            double total = 0, roles = 0;
+            for (Set s : sets) {
+                for (int slot = 0, n = s.roleCount(); slot < n; slot++) {
+                    Role r = s.getRoleAt(slot);
+                    if (!r.isOnCard() && r.getLevel() <= rank) roles++;
+                }
+            }
+            roles = sets.isEmpty() ? 0 : roles / sets.size();
+            for (SceneCard c : cards) {
+                for (Role r : c.getRoles()) if (r.getLevel() <= rank) roles += 1.0 / cards.size();
+                int    budget = c.getBudget();
+                double p      = odds.actSuccess(budget, 0);
+                double best   = p;                               // extra: $1
+                int    n      = c.getRoles().size();
+                for (int i = 0; i < n; i++) {                    // highest level first
+                    if (c.getRoles().get(c.roleByLevel(i)).getLevel() > rank) continue;
+                    best = Math.max(best,
+                        p * (2 + odds.expectedPayout(budget, n, i) / takes));
+                    break;
+                }
+                total += best;
+            }
+            actValue[rank] = cards.isEmpty() ? 0 : total / cards.size()
+                           * Math.min(1, roles * CONTESTED_SETS / Math.max(1, numPlayers));
+        }
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * @param rank A rank the office covers (1 … max level)
+     * @return expected points a player of that rank earns per act
+     */
+    public double actValue(int rank) {
+        return actValue[Math.min(Math.max(rank, 1), actValue.length - 1)];
+    }
+
+    /**
+     * @param numPlayers Players sharing the board's takes
+     * @return acts one player can expect to make in a day
+     */
+    public double actsPerDay(int numPlayers) {
+        return ACTS_PER_TAKE * takesPerDay / Math.max(1, numPlayers);
+    }
+
+    /**
+     * Finds the least spend that reaches target rank now.
+     * @return The plan, or null if the office does not sell that rank or the
+     *         player cannot afford it in either currency
+     */
+    public Plan cheapest(int rank, int dollars, int credits, int target) {
+        if (target <= rank) return null;
+        int d = affordable(target, CastingOffice.DOLLAR, dollars);
+        int c = affordable(target, CastingOffice.CREDIT, credits);
+        if (d < 0 && c < 0) return null;
+
+        // Both currencies score a point each; on a tie spend the larger purse
+        int currency = d < 0 ? CastingOffice.CREDIT
+                     : c < 0 ? CastingOffice.DOLLAR
+                     : d < c || (d == c && dollars >= credits) ? CastingOffice.DOLLAR
+                     : CastingOffice.CREDIT;
+        int cost = currency == CastingOffice.DOLLAR ? d : c;
+        return new Plan(target, currency, cost, gain(rank, target, cost, 0));
+    }
+
+    /** As cheapest(rank, dollars, credits, target) for p's resources. */
+    public Plan cheapest(Player p, int target) {
+        return cheapest(p.getRank(), p.getDollars(), p.getCredits(), target);
+    }
+
+    /**
+     * Finds the purchase that maximises expected final score.
+     * @param actsLeft Acts the player is expected to make before the game ends
+     * @return The best plan; a plan to stay at rank (NONE) when no
+     *         affordable upgrade has a positive expected gain
+     */
+    public Plan best(int rank, int dollars, int credits, double actsLeft) {
+        Plan best = new Plan(rank, Plan.NONE, 0, 0);
+        for (int level = rank + 1; level < actValue.length; level++) {
+            for (int currency = CastingOffice.DOLLAR; currency <= CastingOffice.CREDIT; currency++) {
+                int cost = affordable(level, currency,
+                                      currency == CastingOffice.DOLLAR ? dollars : credits);
+                if (cost < 0) continue;
+                double gain = gain(rank, level, cost, actsLeft);
+                if (gain > best.gain) best = new Plan(level, currency, cost, gain);
+            }
+        }
+        return best;
+    }
+
+    /** As best(rank, dollars, credits, actsLeft) for p's resources. */
+    public Plan best(Player p, double actsLeft) {
+        return best(p.getRank(), p.getDollars(), p.getCredits(), actsLeft);
+    }
+
+    /** @return the cost if offered and within funds, else -1 */
+    private int affordable(int level, int currency, int funds) {
+        int cost = office.getCost(level, currency);
+        return cost >= 0 && cost <= funds ? cost : -1;
+    }
+
+    private double gain(int rank, int level, int cost, double actsLeft) {
+        return (level - rank) - cost + actsLeft * (actValue(level) - actValue(rank));
+    }
+
+    // ── Result ────────────────────────────────────────────────────────────────
+
+    /** One purchase: the rank bought, the currency and cost, and its expected gain. */
+    public static final class Plan {
+
+        /** Currency of a plan that buys nothing */
+        public static final int NONE = -1;
+
+        private final int    level;
+        private final int    currency;
+        private final int    cost;
+        private final double gain;
+
+        Plan(int level, int currency, int cost, double gain) {
+            this.level    = level;
+            this.currency = currency;
+            this.cost     = cost;
+            this.gain     = gain;
+        }
+
+        /** @return rank after the plan (the current rank for a NONE plan) */
+        public int     getLevel()    { return level;    }
+        /** @return CastingOffice.DOLLAR, CastingOffice.CREDIT or NONE */
+        public int     getCurrency() { return currency; }
+        public int     getCost()     { return cost;     }
+        /**
+         * @return expected change in final score versus not upgrading
+         *         (cheapest() plans count no future acts: rank bought less spend)
+         */
+        public double  getGain()     { return gain;     }
+        public boolean isUpgrade()   { return currency != NONE; }
+
+        /** @return "dollar" or "credit", as cmdUpgrade expects (null for NONE) */
+        public String getCurrencyName() {
+            return currency == CastingOffice.DOLLAR ? "dollar"
+                 : currency == CastingOffice.CREDIT ? "credit" : null;
+        }
+
+        @Override
+        public String toString() {
+            if (!isUpgrade()) return "stay at rank " + level;
+            return String.format("upgrade %d %s (%d %s%s)", level, getCurrencyName(),
+                                 cost, getCurrencyName(), cost == 1 ? "" : "s");
+        }
+    }
+}
@@ -168,6 +168,7 @@ public class XMLParser {
             }
         }
 
+        board.buildDistanceTable();
         return board;
     }
 
@@ -0,0 +1,151 @@
+/**
+ * Benchmark fixtures: ready-to-time operations on the game engine.
+ *
+ * JMH does not accept benchmark classes in the default package, and named
+ * packages cannot import the game's default-package classes, so the
+ * benchmarks in deadwood.bench obtain their work from here (reflectively,
+ * once, in @Setup) as plain java.util.function objects.  The timed calls
+ * are then ordinary monomorphic interface calls.
+ *
+ * Data files are looked up in -Ddeadwood.data, the working directory, or
+ * its parent (the repository root when run from bench/).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.IntSupplier;
+
+public final class BenchFixtures {
+
+    private static final long SEED = 345L;
+
+    private BenchFixtures() {}
+
+    // ── Data ──────────────────────────────────────────────────────────────────
+
+    /** @return path of a data file (board.xml / cards.xml) */
+    public static String data(String name) {
+        String dir = System.getProperty("deadwood.data");
+        if (dir != null) return new File(dir, name).getPath();
+        return new File(name).exists() ? name : new File("..", name).getPath();
+    }
+
+    private static Catalog catalog() {
+        try {
+            return Catalog.load(data("board.xml"), data("cards.xml"));
+        } catch (Exception e) {
+            throw new IllegalStateException("cannot load board/cards: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A game a few rounds in: roles taken, takes shot, some sets wrapped.
+     * @param players Player count
+     */
+    private static GameManager midGame(int players) {
+        GameManager gm = new GameManager();
+        gm.setEventSink(NullSink.INSTANCE);
+        gm.setup(players, catalog(), SEED);
+        SimpleBot bot = new SimpleBot(SEED);
+        for (int t = 0; t < 3 * players && !gm.isGameOver(); t++) bot.playTurn(gm);
+        return gm;
+    }
+
+    // ── Loading ───────────────────────────────────────────────────────────────
+
+    /** @return XMLParser.parseBoard on board.xml */
+    public static Callable<Object> parseBoard() {
+        XMLParser parser = new XMLParser();
+        String    file   = data("board.xml");
+        return () -> parser.parseBoard(file);
+    }
+
+    /** @return XMLParser.parseCards on cards.xml */
+    public static Callable<Object> parseCards() {
+        XMLParser parser = new XMLParser();
+        String    file   = data("cards.xml");
+        return () -> parser.parseCards(file);
+    }
+
+    // ── Board queries ─────────────────────────────────────────────────────────
+
+    /** @return Set.getAllRoles on every set; yields the total role count */
+    public static IntSupplier allRoles(int players) {
+        List<Set> sets = midGame(players).getBoard().getSets();
+        return () -> {
+            int n = 0;
+            for (Set s : sets) n += s.getAllRoles().size();
+            return n;
+        };
+    }
+
+    /** @return Room.getNeighborByName for every edge of the board */
+    public static IntSupplier neighborByName(int players) {
+        Board  board = midGame(players).getBoard();
+        Room[] rooms = new Room[board.roomCount()];
+        for (int i = 0; i < rooms.length; i++) rooms[i] = board.getRoom(i);
+        return () -> {
+            int found = 0;
+            for (Room r : rooms) {
+                for (Room nb : r.getNeighbors()) {
+                    if (r.getNeighborByName(nb.getName()) != null) found++;
+                }
+            }
+            return found;
+        };
+    }
+
+    /** @return Board.countActiveSets on a mid-game board */
+    public static IntSupplier countActiveSets(int players) {
+        Board board = midGame(players).getBoard();
+        return board::countActiveSets;
+    }
+
+    // ── Commands ──────────────────────────────────────────────────────────────
+
+    /**
+     * One GameManager.cmdAct, rolled back with the undo log afterwards.
+     *
+     * The active player is put on the first extra of the first set with one
+     * take left.  With wrap set, enough rehearsal chips guarantee success,
+     * so every call also runs handleSceneWrap; otherwise the act roll
+     * decides as in play.
+     *
+     * @param players Player count
+     * @param wrap    Force a successful act (and so a scene wrap)
+     */
+    public static Runnable act(int players, boolean wrap) {
+        GameManager gm = new GameManager();
+        gm.setEventSink(NullSink.INSTANCE);
+        gm.setup(players, catalog(), SEED);
+
+        GameState s   = gm.newState();
+        Set       set = gm.getBoard().getSets().get(0);
+        gm.saveState(s);
+        int p = s.currentPlayer;
+        s.location[p] = set.getId();
+        s.role[p]     = 0;
+        s.chips[p]    = wrap ? set.getActiveCard().getBudget() : 0;
+        s.takeMask[0] = 1;
+        gm.loadState(s);
+
+        gm.setUndoLog(new UndoLog());
+        return () -> {
+            int mark = gm.undoMark();
+            gm.cmdAct();
+            gm.undoTo(mark);
+        };
+    }
+
+    // ── Whole games ───────────────────────────────────────────────────────────
+
+    /** @return one complete SimpleBot game, setup to endGame, new seed each call */
+    public static Runnable fullGame(int players) {
+        Simulator        sim    = new Simulator(players, catalog(), SEED);
+        SimulationResult result = new SimulationResult(catalog());
+        int[]            index  = { 0 };
+        return () -> sim.playGame(index[0]++, result);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * GameManager.cmdAct: a plain act roll, and a forced success that wraps
+ * the scene (handleSceneWrap with its payout dice).  Each call is rolled
+ * back through the undo log, which is included in the time.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActBench {
+
+    @Param({ "2", "3", "4", "5", "6", "7", "8" })
+    public int players;
+
+    private Runnable act;
+    private Runnable actAndWrap;
+
+    @Setup
+    public void setup() {
+        act        = Fixtures.get("act", players, false);
+        actAndWrap = Fixtures.get("act", players, true);
+    }
+
+    @Benchmark
+    public void act() {
+        act.run();
+    }
+
+    @Benchmark
+    public void actAndWrap() {
+        actAndWrap.run();
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Entry point of benchmarks.jar: JMH's command line, with the allocation
+ * (gc) profiler on and JSON results in jmh-result.json unless the command
+ * line says otherwise, so runs can be compared for regressions.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+
+        OptionsBuilder opts = new OptionsBuilder();
+        opts.parent(cli);
+        if (cli.getProfilers().isEmpty())        opts.addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue())   opts.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue())         opts.result("jmh-result.json");
+
+        Runner runner = new Runner(opts.build());
+        if (cli.shouldList()) runner.list();
+        else                  runner.run();
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Board queries on a mid-game board: Set.getAllRoles over every set,
+ * Room.getNeighborByName over every edge, and Board.countActiveSets.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBench {
+
+    @Param({ "2", "3", "4", "5", "6", "7", "8" })
+    public int players;
+
+    private IntSupplier allRoles;
+    private IntSupplier neighborByName;
+    private IntSupplier countActiveSets;
+
+    @Setup
+    public void setup() {
+        allRoles        = Fixtures.get("allRoles", players);
+        neighborByName  = Fixtures.get("neighborByName", players);
+        countActiveSets = Fixtures.get("countActiveSets", players);
+    }
+
+    @Benchmark
+    public int allRoles() {
+        return allRoles.getAsInt();
+    }
+
+    @Benchmark
+    public int neighborByName() {
+        return neighborByName.getAsInt();
+    }
+
+    @Benchmark
+    public int countActiveSets() {
+        return countActiveSets.getAsInt();
+    }
+}
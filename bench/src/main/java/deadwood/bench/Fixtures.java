@@ -0,0 +1,35 @@
+/**
+ * Reflective access to the default-package BenchFixtures (see there).
+ * Used only from @Setup methods, never inside a timed loop.
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /**
+     * Calls BenchFixtures.name(args).
+     * @return The fixture, cast to what the caller expects
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(String name, Object... args) {
+        try {
+            for (Method m : Class.forName("BenchFixtures").getMethods()) {
+                if (m.getName().equals(name) && m.getParameterCount() == args.length) {
+                    return (T) m.invoke(null, args);
+                }
+            }
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("fixture " + name + " failed", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("fixture " + name + " unavailable", e);
+        }
+        throw new IllegalStateException("no fixture " + name);
+    }
+}
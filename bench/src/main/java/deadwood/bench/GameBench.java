@@ -0,0 +1,45 @@
+/**
+ * A complete SimpleBot game from setup to endGame, as the Simulator plays
+ * it (new seed every invocation).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBench {
+
+    @Param({ "2", "3", "4", "5", "6", "7", "8" })
+    public int players;
+
+    private Runnable game;
+
+    @Setup
+    public void setup() {
+        game = Fixtures.get("fullGame", players);
+    }
+
+    @Benchmark
+    public void fullGame() {
+        game.run();
+    }
+}
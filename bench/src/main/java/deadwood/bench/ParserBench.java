@@ -0,0 +1,48 @@
+/**
+ * XML loading: XMLParser.parseBoard and parseCards (DOM, uncached).
+ *
+ * CSCI 345 – Deadwood Assignment 2
+ */
+package deadwood.bench;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBench {
+
+    private Callable<Object> board;
+    private Callable<Object> cards;
+
+    @Setup
+    public void setup() {
+        board = Fixtures.get("parseBoard");
+        cards = Fixtures.get("parseCards");
+    }
+
+    @Benchmark
+    public Object parseBoard() throws Exception {
+        return board.call();
+    }
+
+    @Benchmark
+    public Object parseCards() throws Exception {
+        return cards.call();
+    }
+}